@@ -7,6 +7,7 @@ package eu.partyn.app.api;
 
 import org.springframework.format.annotation.DateTimeFormat;
 import eu.partyn.app.dto.EventDto;
+import eu.partyn.app.dto.EventPageDto;
 import java.time.LocalDateTime;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -75,10 +76,20 @@ public interface EventsApi {
 
 
     /**
-     * GET /events : Queries all events.
-     * Selects all events stored in a database and returns them as an array.
+     * GET /events : Queries events.
+     * Returns one page of events ordered by start time and id. Pass the returned nextCursor to fetch the following page.
      *
-     * @return Successful query returns an array of events. (status code 200)
+     * @param cursor Opaque cursor returned as nextCursor by the previous page. (optional)
+     * @param limit Maximum number of events on the page. (optional, default to 50)
+     * @param from Only events starting at or after this time. (optional)
+     * @param to Only events starting before this time. (optional)
+     * @param topPick  (optional)
+     * @param location Exact location match. (optional)
+     * @param minPrice  (optional)
+     * @param maxPrice  (optional)
+     * @param includeEnded Also return events that have ended but are not archived yet. Drafts are never listed. (optional, default to false)
+     * @return Successful query returns a page of events. (status code 200)
+     *         or The cursor could not be decoded. (status code 400)
      */
     @RequestMapping(
         method = RequestMethod.GET,
@@ -86,13 +97,21 @@ public interface EventsApi {
         produces = { "application/json" }
     )
     
-    default ResponseEntity<List<EventDto>> getEvents(
-        
+    default ResponseEntity<EventPageDto> getEvents(
+         @Valid @RequestParam(value = "cursor", required = false) Optional<String> cursor,
+         @Min(1) @Max(200) @Valid @RequestParam(value = "limit", required = false, defaultValue = "50") Integer limit,
+         @Valid @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> from,
+         @Valid @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Optional<LocalDateTime> to,
+         @Valid @RequestParam(value = "topPick", required = false) Optional<Boolean> topPick,
+         @Valid @RequestParam(value = "location", required = false) Optional<String> location,
+         @Min(0) @Valid @RequestParam(value = "minPrice", required = false) Optional<Integer> minPrice,
+         @Min(0) @Valid @RequestParam(value = "maxPrice", required = false) Optional<Integer> maxPrice,
+         @Valid @RequestParam(value = "includeEnded", required = false, defaultValue = "false") Boolean includeEnded
     ) {
         getRequest().ifPresent(request -> {
             for (MediaType mediaType: MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                 if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
-                    String exampleString = "[ { \"dateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"ticketPrice\" : 6, \"imageUrl\" : \"imageUrl\", \"name\" : \"name\", \"description\" : \"description\", \"location\" : \"location\", \"id\" : 0, \"topPick\" : true }, { \"dateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"ticketPrice\" : 6, \"imageUrl\" : \"imageUrl\", \"name\" : \"name\", \"description\" : \"description\", \"location\" : \"location\", \"id\" : 0, \"topPick\" : true } ]";
+                    String exampleString = "{ \"nextCursor\" : \"nextCursor\", \"items\" : [ { \"dateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"ticketPrice\" : 6, \"imageUrl\" : \"imageUrl\", \"endDateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"location\" : \"location\", \"id\" : 0, \"topPick\" : true }, { \"dateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"ticketPrice\" : 6, \"imageUrl\" : \"imageUrl\", \"endDateTime\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"location\" : \"location\", \"id\" : 0, \"topPick\" : true } ] }";
                     ApiUtil.setExampleResponse(request, "application/json", exampleString);
                     break;
                 }
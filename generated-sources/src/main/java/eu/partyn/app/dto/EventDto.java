@@ -5,6 +5,7 @@ import java.util.Objects;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.annotation.JsonValue;
 import java.time.LocalDateTime;
 import org.springframework.format.annotation.DateTimeFormat;
 import java.time.OffsetDateTime;
@@ -32,16 +33,74 @@ public class EventDto {
   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
   private LocalDateTime dateTime;
 
+  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+  private LocalDateTime endDateTime;
+
   private Integer ticketPrice;
 
   private String description;
 
   private String location;
 
+  private Double latitude;
+
+  private Double longitude;
+
   private Boolean topPick;
 
+  /**
+   * Lifecycle state. Only DRAFT and PUBLISHED can be set by admins; the rest follow the clock.
+   */
+  public enum StatusEnum {
+    DRAFT("DRAFT"),
+    
+    PUBLISHED("PUBLISHED"),
+    
+    LIVE("LIVE"),
+    
+    ENDED("ENDED"),
+    
+    ARCHIVED("ARCHIVED");
+
+    private String value;
+
+    StatusEnum(String value) {
+      this.value = value;
+    }
+
+    @JsonValue
+    public String getValue() {
+      return value;
+    }
+
+    @Override
+    public String toString() {
+      return String.valueOf(value);
+    }
+
+    @JsonCreator
+    public static StatusEnum fromValue(String value) {
+      for (StatusEnum b : StatusEnum.values()) {
+        if (b.value.equals(value)) {
+          return b;
+        }
+      }
+      throw new IllegalArgumentException("Unexpected value '" + value + "'");
+    }
+  }
+
+  private StatusEnum status;
+
   private String imageUrl;
 
+  private String cardUrl;
+
+  private String thumbnailUrl;
+
+  private Integer likes;
+
+  private Long version;
+
   public EventDto() {
     super();
   }
@@ -49,9 +108,10 @@ public class EventDto {
   /**
    * Constructor with only required parameters
    */
-  public EventDto(String name, LocalDateTime dateTime, Integer ticketPrice, String description, String location, Boolean topPick) {
+  public EventDto(String name, LocalDateTime dateTime, LocalDateTime endDateTime, Integer ticketPrice, String description, String location, Boolean topPick) {
     this.name = name;
     this.dateTime = dateTime;
+    this.endDateTime = endDateTime;
     this.ticketPrice = ticketPrice;
     this.description = description;
     this.location = location;
@@ -115,6 +175,25 @@ public class EventDto {
     this.dateTime = dateTime;
   }
 
+  public EventDto endDateTime(LocalDateTime endDateTime) {
+    this.endDateTime = endDateTime;
+    return this;
+  }
+
+  /**
+   * Get endDateTime
+   * @return endDateTime
+  */
+  @NotNull @Valid 
+  @JsonProperty("endDateTime")
+  public LocalDateTime getEndDateTime() {
+    return endDateTime;
+  }
+
+  public void setEndDateTime(LocalDateTime endDateTime) {
+    this.endDateTime = endDateTime;
+  }
+
   public EventDto ticketPrice(Integer ticketPrice) {
     this.ticketPrice = ticketPrice;
     return this;
@@ -172,6 +251,48 @@ public class EventDto {
     this.location = location;
   }
 
+  public EventDto latitude(Double latitude) {
+    this.latitude = latitude;
+    return this;
+  }
+
+  /**
+   * Venue latitude in decimal degrees (WGS 84).
+   * minimum: -90
+   * maximum: 90
+   * @return latitude
+  */
+  @DecimalMin("-90") @DecimalMax("90") 
+  @JsonProperty("latitude")
+  public Double getLatitude() {
+    return latitude;
+  }
+
+  public void setLatitude(Double latitude) {
+    this.latitude = latitude;
+  }
+
+  public EventDto longitude(Double longitude) {
+    this.longitude = longitude;
+    return this;
+  }
+
+  /**
+   * Venue longitude in decimal degrees (WGS 84).
+   * minimum: -180
+   * maximum: 180
+   * @return longitude
+  */
+  @DecimalMin("-180") @DecimalMax("180") 
+  @JsonProperty("longitude")
+  public Double getLongitude() {
+    return longitude;
+  }
+
+  public void setLongitude(Double longitude) {
+    this.longitude = longitude;
+  }
+
   public EventDto topPick(Boolean topPick) {
     this.topPick = topPick;
     return this;
@@ -191,13 +312,32 @@ public class EventDto {
     this.topPick = topPick;
   }
 
+  public EventDto status(StatusEnum status) {
+    this.status = status;
+    return this;
+  }
+
+  /**
+   * Lifecycle state. Only DRAFT and PUBLISHED can be set by admins; the rest follow the clock.
+   * @return status
+  */
+  
+  @JsonProperty("status")
+  public StatusEnum getStatus() {
+    return status;
+  }
+
+  public void setStatus(StatusEnum status) {
+    this.status = status;
+  }
+
   public EventDto imageUrl(String imageUrl) {
     this.imageUrl = imageUrl;
     return this;
   }
 
   /**
-   * Get imageUrl
+   * Full-size rendition, at most 1600px wide.
    * @return imageUrl
   */
   
@@ -210,6 +350,82 @@ public class EventDto {
     this.imageUrl = imageUrl;
   }
 
+  public EventDto cardUrl(String cardUrl) {
+    this.cardUrl = cardUrl;
+    return this;
+  }
+
+  /**
+   * Card rendition, at most 800px wide.
+   * @return cardUrl
+  */
+  
+  @JsonProperty("cardUrl")
+  public String getCardUrl() {
+    return cardUrl;
+  }
+
+  public void setCardUrl(String cardUrl) {
+    this.cardUrl = cardUrl;
+  }
+
+  public EventDto thumbnailUrl(String thumbnailUrl) {
+    this.thumbnailUrl = thumbnailUrl;
+    return this;
+  }
+
+  /**
+   * Thumbnail rendition, at most 320px wide.
+   * @return thumbnailUrl
+  */
+  
+  @JsonProperty("thumbnailUrl")
+  public String getThumbnailUrl() {
+    return thumbnailUrl;
+  }
+
+  public void setThumbnailUrl(String thumbnailUrl) {
+    this.thumbnailUrl = thumbnailUrl;
+  }
+
+  public EventDto likes(Integer likes) {
+    this.likes = likes;
+    return this;
+  }
+
+  /**
+   * Get likes
+   * @return likes
+  */
+  
+  @JsonProperty("likes")
+  public Integer getLikes() {
+    return likes;
+  }
+
+  public void setLikes(Integer likes) {
+    this.likes = likes;
+  }
+
+  public EventDto version(Long version) {
+    this.version = version;
+    return this;
+  }
+
+  /**
+   * Optimistic-locking version, also sent as the ETag of the event.
+   * @return version
+  */
+  
+  @JsonProperty("version")
+  public Long getVersion() {
+    return version;
+  }
+
+  public void setVersion(Long version) {
+    this.version = version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -222,16 +438,24 @@ public class EventDto {
     return Objects.equals(this.id, event.id) &&
         Objects.equals(this.name, event.name) &&
         Objects.equals(this.dateTime, event.dateTime) &&
+        Objects.equals(this.endDateTime, event.endDateTime) &&
         Objects.equals(this.ticketPrice, event.ticketPrice) &&
         Objects.equals(this.description, event.description) &&
         Objects.equals(this.location, event.location) &&
+        Objects.equals(this.latitude, event.latitude) &&
+        Objects.equals(this.longitude, event.longitude) &&
         Objects.equals(this.topPick, event.topPick) &&
-        Objects.equals(this.imageUrl, event.imageUrl);
+        Objects.equals(this.status, event.status) &&
+        Objects.equals(this.imageUrl, event.imageUrl) &&
+        Objects.equals(this.cardUrl, event.cardUrl) &&
+        Objects.equals(this.thumbnailUrl, event.thumbnailUrl) &&
+        Objects.equals(this.likes, event.likes) &&
+        Objects.equals(this.version, event.version);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id, name, dateTime, ticketPrice, description, location, topPick, imageUrl);
+    return Objects.hash(id, name, dateTime, endDateTime, ticketPrice, description, location, latitude, longitude, topPick, status, imageUrl, cardUrl, thumbnailUrl, likes, version);
   }
 
   @Override
@@ -241,11 +465,19 @@ public class EventDto {
     sb.append("    id: ").append(toIndentedString(id)).append("\n");
     sb.append("    name: ").append(toIndentedString(name)).append("\n");
     sb.append("    dateTime: ").append(toIndentedString(dateTime)).append("\n");
+    sb.append("    endDateTime: ").append(toIndentedString(endDateTime)).append("\n");
     sb.append("    ticketPrice: ").append(toIndentedString(ticketPrice)).append("\n");
     sb.append("    description: ").append(toIndentedString(description)).append("\n");
     sb.append("    location: ").append(toIndentedString(location)).append("\n");
+    sb.append("    latitude: ").append(toIndentedString(latitude)).append("\n");
+    sb.append("    longitude: ").append(toIndentedString(longitude)).append("\n");
     sb.append("    topPick: ").append(toIndentedString(topPick)).append("\n");
+    sb.append("    status: ").append(toIndentedString(status)).append("\n");
     sb.append("    imageUrl: ").append(toIndentedString(imageUrl)).append("\n");
+    sb.append("    cardUrl: ").append(toIndentedString(cardUrl)).append("\n");
+    sb.append("    thumbnailUrl: ").append(toIndentedString(thumbnailUrl)).append("\n");
+    sb.append("    likes: ").append(toIndentedString(likes)).append("\n");
+    sb.append("    version: ").append(toIndentedString(version)).append("\n");
     sb.append("}");
     return sb.toString();
   }
@@ -1,11 +1,19 @@
-import React, {useEffect, useState, useCallback} from 'react';
+import React, {useEffect, useState, useCallback, useRef} from 'react';
 import axios from 'axios';
 import {useNavigate} from 'react-router-dom';
 import {useAuth} from '../context/AuthProvider';
 import '../styles/index.css';
 
+const PAGE_SIZE = 50;
+// Largest page the server returns; a refresh re-reads at most this many of the loaded events.
+const MAX_PAGE_SIZE = 200;
+
 const Events = () => {
     const [events, setEvents] = useState([]);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
+    const loadedCount = useRef(0);
+    const sentinel = useRef(null);
     const [error, setError] = useState(null);
     const [currentTime, setCurrentTime] = useState(new Date());
     const [isWideScreen, setIsWideScreen] = useState(window.innerWidth > 1024);
@@ -22,23 +30,79 @@ const Events = () => {
         return () => window.removeEventListener('resize', handleResize);
     }, []);
 
+    const mergeLikes = (items, prevEvents) => items.map(event => ({
+        ...event,
+        likes: event.likes || 0,
+        liked: prevEvents.find(previous => previous.id === event.id)?.liked || false,
+    }));
+
+    // Re-reads the list from the start, keeping as many events as are currently shown.
+    const fetchEvents = useCallback(async () => {
+        try {
+            const limit = Math.min(Math.max(loadedCount.current, PAGE_SIZE), MAX_PAGE_SIZE);
+            const response = await axios.get('http://localhost:8080/events', {params: {limit}});
+            setEvents(prevEvents => mergeLikes(response.data.items, prevEvents));
+            setNextCursor(response.data.nextCursor || null);
+        } catch (error) {
+            setError(error.message);
+        }
+    }, []);
+
+    const fetchMoreEvents = useCallback(async () => {
+        if (!nextCursor || loadingMore) return;
+        setLoadingMore(true);
+        try {
+            const response = await axios.get('http://localhost:8080/events', {
+                params: {cursor: nextCursor, limit: PAGE_SIZE}
+            });
+            setEvents(prevEvents => {
+                const known = new Set(prevEvents.map(event => event.id));
+                const added = response.data.items.filter(event => !known.has(event.id));
+                return [...prevEvents, ...mergeLikes(added, prevEvents)];
+            });
+            setNextCursor(response.data.nextCursor || null);
+        } catch (error) {
+            setError(error.message);
+        } finally {
+            setLoadingMore(false);
+        }
+    }, [nextCursor, loadingMore]);
+
     useEffect(() => {
-        const fetchEvents = async () => {
-            try {
-                const response = await axios.get('http://localhost:8080/events');
-                const sortedEvents = response.data.sort((a, b) => new Date(a.dateTime) - new Date(b.dateTime));
-                setEvents(sortedEvents.map(event => ({
-                    ...event,
-                    likes: event.likes || 0,
-                    liked: false,
-                })));
-            } catch (error) {
-                setError(error.message);
-            }
-        };
+        loadedCount.current = events.length;
+    }, [events]);
 
+    useEffect(() => {
         fetchEvents();
-    }, []);
+    }, [fetchEvents]);
+
+    useEffect(() => {
+        if (!sentinel.current || !nextCursor) return;
+        const observer = new IntersectionObserver(entries => {
+            if (entries[0].isIntersecting) {
+                fetchMoreEvents();
+            }
+        }, {rootMargin: '600px'});
+        observer.observe(sentinel.current);
+        return () => observer.disconnect();
+    }, [nextCursor, fetchMoreEvents]);
+
+    useEffect(() => {
+        const source = new EventSource('http://localhost:8080/events/stream');
+        source.addEventListener('changes', (message) => {
+            const changes = JSON.parse(message.data);
+            const likes = new Map(changes.filter(change => change.type === 'LIKED').map(change => [change.id, change.likes]));
+            if (likes.size > 0) {
+                setEvents(prevEvents => prevEvents.map(event =>
+                    likes.has(event.id) ? {...event, likes: likes.get(event.id)} : event
+                ));
+            }
+            if (changes.some(change => change.type !== 'LIKED')) {
+                fetchEvents();
+            }
+        });
+        return () => source.close();
+    }, [fetchEvents]);
 
     useEffect(() => {
         const intervalId = setInterval(() => {
@@ -143,7 +207,7 @@ const Events = () => {
 
                                 {/* Event image - Left 1/3 */}
                                 <div className="w-1/3 relative">
-                                    <img src={event.imageUrl} alt={event.name}
+                                    <img src={event.cardUrl || event.imageUrl} alt={event.name}
                                          className="w-full h-full object-cover rounded-lg"/>
                                     <div
                                         className="absolute inset-0 bg-gradient-to-r from-zinc-950 via-transparent to-zinc-950 opacity-100 rounded-lg"></div>
@@ -298,6 +362,9 @@ const Events = () => {
                         ))
                     )}
                 </div>
+                {/* Loads the next page when scrolled into view */}
+                <div ref={sentinel} className="h-1"/>
+                {loadingMore && <p className="text-center text-gray-400 font-courier-new mt-6">Loading more events...</p>}
             </div>
         </div>
     );
@@ -0,0 +1,161 @@
+package eu.partyn.app.benchmark;
+
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.service.EventCache;
+import eu.partyn.app.service.EventService;
+import eu.partyn.app.service.LikeCounter;
+import eu.partyn.app.service.LikeRegistry;
+import eu.partyn.app.service.SecurityService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Shared test data and wiring for the benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    private static final String[] LOCATIONS = {"Genialistide Klubi", "Illegaard", "Shooters", "Vilde", "Rüütli 11"};
+
+    private BenchmarkFixtures() {
+    }
+
+    static List<Event> events(int count) {
+        List<Event> events = new ArrayList<>(count);
+        LocalDateTime start = LocalDateTime.of(2024, 9, 1, 21, 0);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 1; i <= count; i++) {
+            LocalDateTime dateTime = start.plusHours(random.nextInt(24 * 180));
+            events.add(Event.builder()
+                    .id(i)
+                    .name("Event night #" + i)
+                    .dateTime(dateTime)
+                    .endDateTime(dateTime.plusHours(5))
+                    .ticketPrice(random.nextInt(0, 25))
+                    .description("Resident DJs, guest live act and late bar. ".repeat(4))
+                    .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .topPick(random.nextInt(10) == 0)
+                    .imageUrl("https://storage.googleapis.com/partyn/events/" + i + "/full.jpg")
+                    .cardUrl("https://storage.googleapis.com/partyn/events/" + i + "/card.jpg")
+                    .thumbnailUrl("https://storage.googleapis.com/partyn/events/" + i + "/thumbnail.jpg")
+                    .likes(random.nextInt(500))
+                    .build());
+        }
+        return events;
+    }
+
+    /**
+     * An {@link EventRepository} backed by a map. Only the methods used by the benchmarked service
+     * paths are implemented.
+     */
+    static EventRepository inMemoryRepository(List<Event> events) {
+        Map<Integer, Event> rows = new ConcurrentHashMap<>();
+        events.forEach(event -> rows.put(event.getId(), event));
+        return (EventRepository) Proxy.newProxyInstance(
+                EventRepository.class.getClassLoader(),
+                new Class<?>[]{EventRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> Optional.ofNullable(rows.get((Integer) args[0]));
+                    case "existsById" -> rows.containsKey((Integer) args[0]);
+                    case "findAll" -> new ArrayList<>(rows.values());
+                    case "count" -> (long) rows.size();
+                    case "save" -> {
+                        Event event = (Event) args[0];
+                        rows.put(event.getId(), event);
+                        yield event;
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryEventRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * A JPA {@link EventRepository} on its own in-memory H2 database holding {@code events}, for
+     * paths that run specification and keyset queries. Ids are reassigned by the sequence.
+     */
+    static EventRepository jpaRepository(List<Event> events) {
+        LocalContainerEntityManagerFactoryBean factoryBean = new LocalContainerEntityManagerFactoryBean();
+        factoryBean.setDataSource(new DriverManagerDataSource(
+                "jdbc:h2:mem:events-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL"));
+        factoryBean.setPackagesToScan("eu.partyn.app.model");
+        factoryBean.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factoryBean.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "create-drop"));
+        factoryBean.afterPropertiesSet();
+        EntityManagerFactory entityManagerFactory = factoryBean.getObject();
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        entityManager.getTransaction().begin();
+        events.forEach(event -> entityManager.persist(event.toBuilder().id(null).build()));
+        entityManager.getTransaction().commit();
+        entityManager.close();
+
+        return new JpaRepositoryFactory(SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory))
+                .getRepository(EventRepository.class);
+    }
+
+    static EventService eventService(EventRepository repository) {
+        return new EventService(
+                repository,
+                null,
+                new SecurityService(),
+                new LikeCounter(null, event -> { }, null),
+                new EventCache(new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10)),
+                event -> { },
+                likeRegistry());
+    }
+
+    /**
+     * A {@link LikeRegistry} on its own in-memory H2 database with the like tables created.
+     */
+    static LikeRegistry likeRegistry() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:likes-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE user_index_seq");
+        jdbcTemplate.execute("CREATE TABLE user_index (idx INTEGER PRIMARY KEY, uid VARCHAR(128) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE event_like (event_id INTEGER PRIMARY KEY, members VARBINARY(16777216) NOT NULL)");
+        return new LikeRegistry(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                new SimpleMeterRegistry(), 100_000, 64 * 1024 * 1024, Duration.ofMinutes(10));
+    }
+
+    /**
+     * Regular users {@code user-0} to {@code user-(count - 1)}, as verified tokens.
+     */
+    static FirebaseToken[] users(int count) {
+        FirebaseToken[] tokens = new FirebaseToken[count];
+        try {
+            Constructor<FirebaseToken> constructor = FirebaseToken.class.getDeclaredConstructor(Map.class);
+            constructor.setAccessible(true);
+            for (int i = 0; i < count; i++) {
+                tokens[i] = constructor.newInstance(Map.of("sub", "user-" + i, "user_id", "user-" + i));
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+        return tokens;
+    }
+}
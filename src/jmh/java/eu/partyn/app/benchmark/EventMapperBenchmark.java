@@ -0,0 +1,55 @@
+package eu.partyn.app.benchmark;
+
+import eu.partyn.app.dto.EventDto;
+import eu.partyn.app.mapper.EventMapper;
+import eu.partyn.app.model.Event;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventMapperBenchmark {
+
+    @Param({"1", "50", "1000"})
+    private int size;
+
+    private final EventMapper mapper = EventMapper.INSTANCE;
+
+    private List<Event> events;
+
+    private Event event;
+
+    private EventDto eventDto;
+
+    @Setup
+    public void setUp() {
+        events = BenchmarkFixtures.events(size);
+        event = events.get(0);
+        eventDto = mapper.toDto(event);
+    }
+
+    @Benchmark
+    public EventDto toDto() {
+        return mapper.toDto(event);
+    }
+
+    @Benchmark
+    public Event toEntity() {
+        return mapper.toEntity(eventDto);
+    }
+
+    @Benchmark
+    public List<EventDto> toDtoList() {
+        return mapper.toDtoList(events);
+    }
+}
@@ -0,0 +1,53 @@
+package eu.partyn.app.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import eu.partyn.app.dto.EventPageDto;
+import eu.partyn.app.mapper.EventMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EventSerializationBenchmark {
+
+    @Param({"50", "200", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+
+    private EventPageDto page;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same configuration Spring Boot applies from application.properties.
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        page = new EventPageDto(EventMapper.INSTANCE.toDtoList(BenchmarkFixtures.events(size)))
+                .nextCursor("MjAyNC0wOS0wMVQyMTowMHw0Mg");
+        json = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public EventPageDto deserializePage() throws Exception {
+        return objectMapper.readValue(json, EventPageDto.class);
+    }
+}
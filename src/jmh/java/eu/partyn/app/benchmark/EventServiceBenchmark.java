@@ -0,0 +1,94 @@
+package eu.partyn.app.benchmark;
+
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventFilter;
+import eu.partyn.app.model.EventPage;
+import eu.partyn.app.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EventServiceBenchmark {
+
+    @Param({"1000"})
+    private int catalogSize;
+
+    private EventService eventService;
+
+    private EventService pagedEventService;
+
+    private EventFilter topPicks;
+
+    private FirebaseToken[] users;
+
+    @Setup
+    public void setUp() {
+        eventService = BenchmarkFixtures.eventService(
+                BenchmarkFixtures.inMemoryRepository(BenchmarkFixtures.events(catalogSize)));
+        pagedEventService = BenchmarkFixtures.eventService(
+                BenchmarkFixtures.jpaRepository(BenchmarkFixtures.events(catalogSize)));
+        topPicks = new EventFilter(null, null, true, null, null, null, false);
+        users = BenchmarkFixtures.users(10_000);
+    }
+
+    @Benchmark
+    public Optional<Event> getEventById() {
+        return eventService.getEventById(randomId());
+    }
+
+    @Benchmark
+    public EventPage getEventsFirstPage() {
+        return pagedEventService.getEvents(EventFilter.none(), null, 50);
+    }
+
+    @Benchmark
+    public EventPage getEventsSecondPage() {
+        EventPage first = pagedEventService.getEvents(EventFilter.none(), null, 50);
+        return pagedEventService.getEvents(EventFilter.none(), first.nextCursor(), 50);
+    }
+
+    @Benchmark
+    public EventPage getEventsTopPicks() {
+        return pagedEventService.getEvents(topPicks, null, 50);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean incrementLikesSpread() {
+        return eventService.likeEvent(randomUser(), randomId());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean incrementLikesHotEvent() {
+        return eventService.likeEvent(randomUser(), 1);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean hasLiked() {
+        return eventService.hasLiked(randomUser(), randomId());
+    }
+
+    private FirebaseToken randomUser() {
+        return users[ThreadLocalRandom.current().nextInt(users.length)];
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(1, catalogSize + 1);
+    }
+}
@@ -0,0 +1,45 @@
+package eu.partyn.app.config;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.FirebaseOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+
+import java.io.IOException;
+
+/**
+ * Firebase and Cloud Storage clients, created on first use rather than at startup. Both read
+ * Application Default Credentials ({@code GOOGLE_APPLICATION_CREDENTIALS}), which costs file and
+ * possibly metadata-server I/O that no request path needs before the first login or upload.
+ */
+@Configuration
+public class GoogleCloudConfig {
+    private static final Logger logger = LoggerFactory.getLogger(GoogleCloudConfig.class);
+
+    @Bean
+    @Lazy
+    public FirebaseApp firebaseApp() throws IOException {
+        if (!FirebaseApp.getApps().isEmpty()) {
+            return FirebaseApp.getInstance();
+        }
+        logger.info("Initializing Firebase on first use");
+        return FirebaseApp.initializeApp(FirebaseOptions.builder()
+                .setCredentials(GoogleCredentials.getApplicationDefault())
+                .build());
+    }
+
+    @Bean
+    @Lazy
+    @ConditionalOnProperty(name = "partyn.storage.type", havingValue = "gcs", matchIfMissing = true)
+    public Storage storage() {
+        logger.info("Creating Cloud Storage client on first use");
+        return StorageOptions.getDefaultInstance().getService();
+    }
+}
@@ -0,0 +1,94 @@
+package eu.partyn.app.config;
+
+import eu.partyn.app.service.FirebaseService;
+import eu.partyn.app.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throttles {@code POST} and {@code DELETE /events/{id}/like} before any authentication or database work.
+ *
+ * <p>A request must get a token from the per-IP bucket and from the per-caller bucket (keyed by UID
+ * once the caller's token has been verified, by the token itself before that), and then a permit
+ * from the global concurrency limit. Otherwise it is answered with 429 and a {@code Retry-After}
+ * header, in seconds. The IP token is refunded when the caller bucket refuses, so one throttled
+ * caller cannot drain the bucket shared by everyone behind the same address.
+ */
+public class LikeRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Pattern LIKE_PATH = Pattern.compile("/events/[^/]+/like");
+    private static final Set<String> THROTTLED_METHODS = Set.of("POST", "DELETE");
+    private static final String BEARER = "Bearer ";
+
+    private final TokenBucketLimiter ipLimiter;
+    private final TokenBucketLimiter callerLimiter;
+    private final FirebaseService firebaseService;
+    private final Semaphore inFlight;
+    private final Counter shed;
+
+    public LikeRateLimitFilter(TokenBucketLimiter ipLimiter, TokenBucketLimiter callerLimiter,
+                               FirebaseService firebaseService, int maxConcurrent, MeterRegistry meterRegistry) {
+        this.ipLimiter = ipLimiter;
+        this.callerLimiter = callerLimiter;
+        this.firebaseService = firebaseService;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.shed = meterRegistry.counter("partyn.ratelimit.requests", "limiter", "concurrency", "outcome", "rejected");
+        meterRegistry.gauge("partyn.ratelimit.in-flight", inFlight, permits -> maxConcurrent - permits.availablePermits());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !THROTTLED_METHODS.contains(request.getMethod()) || !LIKE_PATH.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String ip = request.getRemoteAddr();
+        long wait = ipLimiter.tryAcquire(ip);
+        if (wait == 0) {
+            String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authorization != null) {
+                wait = callerLimiter.tryAcquire(firebaseService.callerKey(authorization.replace(BEARER, "")));
+                if (wait > 0) {
+                    // A caller over its limit must not use up the tokens of others behind the same address.
+                    ipLimiter.refund(ip);
+                }
+            }
+        }
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            shed.increment();
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+}
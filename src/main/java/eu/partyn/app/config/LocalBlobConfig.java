@@ -0,0 +1,30 @@
+package eu.partyn.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.nio.file.Path;
+
+/**
+ * Serves the files written by {@link eu.partyn.app.storage.FileSystemBlobStore} under {@code /blobs/**},
+ * so the URLs it hands out resolve in local runs. Cloud Storage serves its own URLs.
+ */
+@Configuration
+@ConditionalOnProperty(name = "partyn.storage.type", havingValue = "filesystem")
+public class LocalBlobConfig implements WebMvcConfigurer {
+
+    private final Path root;
+
+    public LocalBlobConfig(@Value("${partyn.storage.local-dir:build/blobs}") Path root) {
+        this.root = root;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler("/blobs/**")
+                .addResourceLocations("file:" + root.toAbsolutePath() + "/");
+    }
+}
@@ -0,0 +1,40 @@
+package eu.partyn.app.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import eu.partyn.app.service.FirebaseService;
+import eu.partyn.app.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<LikeRateLimitFilter> likeRateLimitFilter(
+            FirebaseService firebaseService,
+            MeterRegistry meterRegistry,
+            @Value("${partyn.ratelimit.like.ip.rate-per-second:20}") double ipRate,
+            @Value("${partyn.ratelimit.like.ip.burst:50}") int ipBurst,
+            @Value("${partyn.ratelimit.like.user.rate-per-second:2}") double userRate,
+            @Value("${partyn.ratelimit.like.user.burst:10}") int userBurst,
+            @Value("${partyn.ratelimit.like.max-concurrent:200}") int maxConcurrent,
+            @Value("${partyn.ratelimit.idle-timeout:10m}") Duration idleTimeout,
+            @Value("${partyn.ratelimit.max-keys:100000}") long maxKeys) {
+        TokenBucketLimiter ipLimiter = new TokenBucketLimiter("like-ip", ipRate, ipBurst, idleTimeout, maxKeys,
+                meterRegistry, Ticker.systemTicker());
+        TokenBucketLimiter userLimiter = new TokenBucketLimiter("like-user", userRate, userBurst, idleTimeout, maxKeys,
+                meterRegistry, Ticker.systemTicker());
+        FilterRegistrationBean<LikeRateLimitFilter> registration = new FilterRegistrationBean<>(
+                new LikeRateLimitFilter(ipLimiter, userLimiter, firebaseService, maxConcurrent, meterRegistry));
+        registration.addUrlPatterns("/events/*");
+        // Ahead of Spring Security and the metrics filters: rejected requests should cost nothing.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,44 @@
+package eu.partyn.app.config;
+
+import eu.partyn.app.model.EventChange;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Keeps read-only transactions on the primary for a short window after a committed write, so an
+ * admin who just changed an event reads it back even while the replica lags.
+ *
+ * <p>Opens on every committed create, update or delete. Like flushes do not open it; reads add
+ * pending likes on top of the stored count anyway. Listens first so that other change listeners
+ * reloading the event already see the window open.
+ */
+public class ReadYourWritesWindow {
+
+    private final long windowNanos;
+    private volatile long lastWriteNanos;
+    private volatile boolean written;
+
+    public ReadYourWritesWindow(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (change.type() != EventChange.Type.LIKED) {
+            recordWrite();
+        }
+    }
+
+    public void recordWrite() {
+        lastWriteNanos = System.nanoTime();
+        written = true;
+    }
+
+    public boolean isOpen() {
+        return written && System.nanoTime() - lastWriteNanos < windowNanos;
+    }
+}
@@ -18,6 +18,11 @@ public class SecurityConfig {
                 .cors(withDefaults())
                 .authorizeHttpRequests(auth -> {
                     auth.requestMatchers("/events/**").permitAll();
+                    auth.requestMatchers("/livez", "/readyz").permitAll();
+                    // Only mapped when partyn.storage.type=filesystem
+                    auth.requestMatchers("/blobs/**").permitAll();
+                    // Only reachable on the management port, which is bound to an internal interface
+                    auth.requestMatchers("/actuator/health", "/actuator/prometheus").permitAll();
                     auth.requestMatchers( "/admin/**").hasRole("ADMIN");
                 })
                 .build();
@@ -13,7 +13,8 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedOrigins("http://localhost:5173",
                                 "https://partynfrontend-production.up.railway.app",
                                 "https://www.funmeus.com/")
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS")
+                .exposedHeaders("ETag")
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
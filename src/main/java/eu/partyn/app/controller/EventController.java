@@ -1,21 +1,62 @@
 package eu.partyn.app.controller;
 
 import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.dto.EventChangesDto;
 import eu.partyn.app.dto.EventDto;
+import eu.partyn.app.dto.EventPageDto;
+import eu.partyn.app.exception.EventNotFoundException;
+import eu.partyn.app.exception.EventVersionMismatchException;
+import eu.partyn.app.exception.InvalidCursorException;
+import eu.partyn.app.exception.SyncNotReadyException;
+import eu.partyn.app.exception.SyncTokenExpiredException;
 import eu.partyn.app.mapper.EventMapper;
+import eu.partyn.app.model.ArchivedEventPage;
 import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChanges;
+import eu.partyn.app.model.EventFilter;
+import eu.partyn.app.model.EventImportReport;
+import eu.partyn.app.service.EventCsvService;
+import eu.partyn.app.service.EventGeoIndex;
+import eu.partyn.app.service.EventHistoryService;
+import eu.partyn.app.service.EventListSnapshotService;
+import eu.partyn.app.service.EventSearchIndex;
 import eu.partyn.app.service.EventService;
+import eu.partyn.app.service.EventStreamService;
+import eu.partyn.app.service.EventSyncService;
+import eu.partyn.app.service.EventTrending;
 import eu.partyn.app.service.FirebaseService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/events")
@@ -23,37 +64,200 @@ import java.util.stream.Collectors;
 public class EventController {
 
     private final EventService eventService;
+    private final EventListSnapshotService eventListSnapshotService;
+    private final EventStreamService eventStreamService;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventGeoIndex eventGeoIndex;
+    private final EventTrending eventTrending;
+    private final EventCsvService eventCsvService;
+    private final EventHistoryService eventHistoryService;
+    private final EventSyncService eventSyncService;
     private final EventMapper eventMapper;
     private final ObjectMapper objectMapper;
     private final FirebaseService firebaseService;
+    private final MeterRegistry meterRegistry;
+    private final Validator validator;
     private static final Logger logger = LoggerFactory.getLogger(EventController.class);
 
     @GetMapping
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        List<Event> events = eventService.getAllEvents();
-        List<EventDto> eventDtos = events.stream()
-                .map(eventMapper::toDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(eventDtos);
+    public ResponseEntity<byte[]> getAllEvents(@RequestParam(required = false) String cursor,
+                                               @RequestParam(defaultValue = "50") int limit,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(required = false) Boolean topPick,
+                                               @RequestParam(required = false) String location,
+                                               @RequestParam(required = false) Integer minPrice,
+                                               @RequestParam(required = false) Integer maxPrice,
+                                               @RequestParam(defaultValue = "false") boolean includeEnded,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                               @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        EventListSnapshotService.Snapshot snapshot;
+        try {
+            EventFilter filter = new EventFilter(from, to, topPick, location, minPrice, maxPrice, includeEnded);
+            snapshot = eventListSnapshotService.get(filter, cursor, limit);
+        } catch (InvalidCursorException e) {
+            logger.warn("Rejected events page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? snapshot.gzipEtag() : snapshot.etag();
+        if (snapshot.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.gzip());
+        }
+        return response.body(snapshot.json());
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<EventPageDto> getEventHistory(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        try {
+            ArchivedEventPage page = eventHistoryService.getArchivedEvents(cursor, limit);
+            List<EventDto> items = timed("toDtoList", () -> eventMapper.toArchivedDtoList(page.events()));
+            return ResponseEntity.ok(new EventPageDto(items).nextCursor(page.nextCursor()));
+        } catch (InvalidCursorException e) {
+            logger.warn("Rejected history page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<EventChangesDto> getEventChanges(@RequestParam(required = false) String since,
+                                                           @RequestParam(defaultValue = "100") int limit) {
+        try {
+            EventChanges changes = eventSyncService.getChangesSince(since, limit);
+            List<EventDto> upserts = timed("toDtoList", () -> eventMapper.toDtoList(changes.upserts()));
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .body(new EventChangesDto(upserts, changes.deletes(), changes.token(), changes.more()));
+        } catch (InvalidCursorException e) {
+            logger.warn("Rejected changes request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (SyncTokenExpiredException e) {
+            logger.info("Expired sync token, client has to resync: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (SyncNotReadyException e) {
+            logger.info("Rejected changes request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents() {
+        return eventStreamService.subscribe();
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<EventDto>> searchEvents(@RequestParam("q") String query,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE));
+        List<Event> events = eventService.getEventsByIds(eventSearchIndex.search(query, pageSize));
+        return ResponseEntity.ok(timed("toDtoList", () -> eventMapper.toDtoList(events)));
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<List<EventDto>> getNearbyEvents(@RequestParam double lat,
+                                                          @RequestParam double lon,
+                                                          @RequestParam(defaultValue = "5000") int radius,
+                                                          @RequestParam(defaultValue = "50") int limit) {
+        if (Math.abs(lat) > 90 || Math.abs(lon) > 180 || radius < 1 || radius > EventGeoIndex.MAX_RADIUS_METERS) {
+            logger.warn("Rejected nearby request: lat={}, lon={}, radius={}", lat, lon, radius);
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE));
+        List<Integer> ids = eventGeoIndex.nearby(lat, lon, radius, pageSize).stream()
+                .map(EventGeoIndex.Hit::eventId)
+                .toList();
+        List<Event> events = eventService.getEventsByIds(ids);
+        return ResponseEntity.ok(timed("toDtoList", () -> eventMapper.toDtoList(events)));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<EventDto>> getTrendingEvents(@RequestParam(defaultValue = "20") int limit) {
+        int pageSize = Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE));
+        List<Event> events = eventService.getEventsByIds(eventTrending.trending(pageSize));
+        return ResponseEntity.ok(timed("toDtoList", () -> eventMapper.toDtoList(events)));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<EventImportReport> importEvents(@RequestHeader("Authorization") String idToken,
+                                                          InputStream csv) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            return ResponseEntity.ok(eventCsvService.importEvents(decodedToken, csv));
+        } catch (Exception e) {
+            logger.error("Error importing events", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportEvents(@RequestHeader("Authorization") String idToken) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            StreamingResponseBody body = eventCsvService.exportEvents(decodedToken);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"events.csv\"")
+                    .body(body);
+        } catch (Exception e) {
+            logger.error("Error exporting events", e);
+            return ResponseEntity.status(500).build();
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventDto> getSpecificEvent(@PathVariable Integer id) {
-        return eventService.getEventById(id)
-                .map(event -> ResponseEntity.ok(eventMapper.toDto(event)))
+    public ResponseEntity<EventDto> getSpecificEvent(@PathVariable Integer id, HttpServletRequest request) {
+        Optional<Event> found = eventService.getEventById(id);
+        found.ifPresent(event -> eventTrending.recordView(event.getId(), request.getRemoteAddr()));
+        return found
+                .map(event -> ResponseEntity.ok()
+                        .eTag(versionTag(event))
+                        .body(timed("toDto", () -> eventMapper.toDto(event))))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/{id}/admin")
+    public ResponseEntity<EventDto> getSpecificEventForAdmin(@RequestHeader("Authorization") String idToken,
+                                                             @PathVariable Integer id) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            return eventService.getAnyEventById(decodedToken, id)
+                    .map(event -> ResponseEntity.ok()
+                            .eTag(versionTag(event))
+                            .body(timed("toDto", () -> eventMapper.toDto(event))))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        } catch (Exception e) {
+            logger.error("Error fetching event for admin", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @PostMapping
     public ResponseEntity<EventDto> postEvent(@RequestHeader("Authorization") String idToken,
                                               @RequestPart("event") String eventString,
                                               @RequestPart("file") MultipartFile file) {
         try {
             FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
-            EventDto eventDto = objectMapper.readValue(eventString, EventDto.class);
-            Event event = eventMapper.toEntity(eventDto);
-            event = eventService.postEvent(decodedToken, event, file);
-            return ResponseEntity.ok(eventMapper.toDto(event));
+            EventDto eventDto = timedChecked("deserialize", () -> objectMapper.readValue(eventString, EventDto.class));
+            Event event = timed("toEntity", () -> eventMapper.toEntity(eventDto));
+            Event savedEvent = eventService.postEvent(decodedToken, event, file);
+            return ResponseEntity.ok(timed("toDto", () -> eventMapper.toDto(savedEvent)));
         } catch (Exception e) {
             logger.error("Error posting event", e);
             return ResponseEntity.status(500).body(null);
@@ -76,29 +280,211 @@ public class EventController {
     public ResponseEntity<EventDto> updateEvent(@RequestHeader("Authorization") String idToken,
                                                 @PathVariable Integer id,
                                                 @RequestPart("event") String eventString,
-                                                @RequestPart("file") MultipartFile file) {
+                                                @RequestPart(value = "file", required = false) MultipartFile file) {
         try {
             FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
-            EventDto eventDto = objectMapper.readValue(eventString, EventDto.class);
+            EventDto eventDto = timedChecked("deserialize", () -> objectMapper.readValue(eventString, EventDto.class));
             eventDto.setId(id);
-            Event eventToUpdate = eventMapper.toEntity(eventDto);
+            Event eventToUpdate = timed("toEntity", () -> eventMapper.toEntity(eventDto));
             Event updatedEvent = eventService.updateEvent(decodedToken, eventToUpdate, file);
-            return ResponseEntity.ok(eventMapper.toDto(updatedEvent));
+            return ResponseEntity.ok()
+                    .eTag(versionTag(updatedEvent))
+                    .body(timed("toDto", () -> eventMapper.toDto(updatedEvent)));
         } catch (Exception e) {
             logger.error("Error updating event", e);
             return ResponseEntity.status(500).body(null);
         }
     }
 
+    /**
+     * JSON Merge Patch (RFC 7396) of the editable fields. {@code If-Match} must carry the ETag the
+     * client last saw; a stale one fails with 412 instead of overwriting a concurrent edit.
+     */
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<EventDto> patchEvent(@RequestHeader("Authorization") String idToken,
+                                               @PathVariable Integer id,
+                                               @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                               @RequestBody String patch) {
+        if (ifMatch == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            Event patchedEvent = eventService.patchEvent(decodedToken, id, expectedVersion(ifMatch),
+                    event -> applyMergePatch(event, patch));
+            return ResponseEntity.ok()
+                    .eTag(versionTag(patchedEvent))
+                    .body(timed("toDto", () -> eventMapper.toDto(patchedEvent)));
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (EventVersionMismatchException | OptimisticLockingFailureException e) {
+            logger.info("Rejected stale patch of event {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            logger.warn("Rejected invalid patch of event {}: {}", id, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            logger.error("Error patching event", e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<EventDto>> postEvents(@RequestHeader("Authorization") String idToken,
+                                                     @RequestBody List<EventDto> eventDtos) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            List<Event> events = timed("toEntity", () -> eventDtos.stream().map(eventMapper::toEntity).toList());
+            List<Event> savedEvents = eventService.postEvents(decodedToken, events);
+            return ResponseEntity.ok(timed("toDtoList", () -> eventMapper.toDtoList(savedEvents)));
+        } catch (Exception e) {
+            logger.error("Error posting events", e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @PutMapping("/bulk")
+    public ResponseEntity<List<EventDto>> updateEvents(@RequestHeader("Authorization") String idToken,
+                                                       @RequestBody List<EventDto> eventDtos) {
+        if (eventDtos.stream().anyMatch(eventDto -> eventDto.getId() == null)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            List<Event> events = timed("toEntity", () -> eventDtos.stream().map(eventMapper::toEntity).toList());
+            List<Event> updatedEvents = eventService.updateEvents(decodedToken, events);
+            return ResponseEntity.ok(timed("toDtoList", () -> eventMapper.toDtoList(updatedEvents)));
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error updating events", e);
+            return ResponseEntity.status(500).body(null);
+        }
+    }
+
+    @PostMapping("/bulk/delete")
+    public ResponseEntity<Void> deleteEvents(@RequestHeader("Authorization") String idToken,
+                                             @RequestBody List<Integer> ids) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            eventService.deleteEvents(decodedToken, ids);
+            return ResponseEntity.ok().build();
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error deleting events", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping("/likes")
+    public ResponseEntity<List<Integer>> getLikedEvents(@RequestHeader("Authorization") String idToken,
+                                                        @RequestParam List<Integer> ids) {
+        if (ids.size() > EventService.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            return ResponseEntity.ok(eventService.getLikedEventIds(decodedToken, ids));
+        } catch (Exception e) {
+            logger.error("Error fetching liked events", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    @GetMapping("/{id}/like")
+    public ResponseEntity<Map<String, Boolean>> getLike(@PathVariable Integer id, @RequestHeader("Authorization") String idToken) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            return ResponseEntity.ok(Map.of("liked", eventService.hasLiked(decodedToken, id)));
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error fetching like", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     @PostMapping("/{id}/like")
     public ResponseEntity<Void> likeEvent(@PathVariable Integer id, @RequestHeader("Authorization") String idToken) {
         try {
             FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
-            eventService.incrementLikes(id);
+            if (eventService.likeEvent(decodedToken, id)) {
+                eventTrending.recordLike(id);
+            }
             return ResponseEntity.ok().build();
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             logger.error("Error liking event", e);
             return ResponseEntity.status(500).build();
         }
     }
+
+    @DeleteMapping("/{id}/like")
+    public ResponseEntity<Void> unlikeEvent(@PathVariable Integer id, @RequestHeader("Authorization") String idToken) {
+        try {
+            FirebaseToken decodedToken = firebaseService.authenticate(idToken.replace("Bearer ", ""));
+            eventService.unlikeEvent(decodedToken, id);
+            return ResponseEntity.ok().build();
+        } catch (EventNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            logger.error("Error unliking event", e);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    private Event applyMergePatch(Event event, String patch) {
+        try {
+            EventDto patched = objectMapper.readerForUpdating(eventMapper.toDto(event)).readValue(patch);
+            Set<ConstraintViolation<EventDto>> violations = validator.validate(patched);
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            return eventMapper.toEntity(patched);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed merge patch", e);
+        }
+    }
+
+    private static String versionTag(Event event) {
+        return String.valueOf(event.getVersion());
+    }
+
+    /**
+     * Version named by an {@code If-Match} header, {@code null} for {@code *}. A value that is not a
+     * version of ours never matches.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        String tag = ifMatch.trim();
+        if (tag.equals("*")) {
+            return null;
+        }
+        tag = tag.startsWith("W/") ? tag.substring(2) : tag;
+        try {
+            return Long.valueOf(tag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Records mapping and (de)serialization work done in the controller under
+     * {@code partyn.controller.mapping}, tagged by stage.
+     */
+    private <T> T timed(String stage, Supplier<T> work) {
+        return mappingTimer(stage).record(work);
+    }
+
+    private <T> T timedChecked(String stage, Callable<T> work) throws Exception {
+        return mappingTimer(stage).recordCallable(work);
+    }
+
+    private Timer mappingTimer(String stage) {
+        return Timer.builder("partyn.controller.mapping")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
 }
@@ -0,0 +1,8 @@
+package eu.partyn.app.exception;
+
+public class EventVersionMismatchException extends RuntimeException{
+    public EventVersionMismatchException(Integer id, Long expectedVersion, Long currentVersion){
+        super("Event " + id + " is at version " + currentVersion + ", not " + expectedVersion);
+    }
+
+}
@@ -0,0 +1,8 @@
+package eu.partyn.app.exception;
+
+public class InvalidCursorException extends RuntimeException{
+    public InvalidCursorException(String cursor){
+        super("Invalid page cursor: " + cursor);
+    }
+
+}
@@ -0,0 +1,8 @@
+package eu.partyn.app.exception;
+
+public class SyncNotReadyException extends RuntimeException{
+    public SyncNotReadyException(){
+        super("Delta sync is not available until every event has a sync position");
+    }
+
+}
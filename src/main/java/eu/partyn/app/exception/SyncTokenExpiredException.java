@@ -0,0 +1,8 @@
+package eu.partyn.app.exception;
+
+public class SyncTokenExpiredException extends RuntimeException{
+    public SyncTokenExpiredException(String token){
+        super("Sync token predates the retained deletions: " + token);
+    }
+
+}
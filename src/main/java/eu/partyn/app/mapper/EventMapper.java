@@ -2,8 +2,10 @@ package eu.partyn.app.mapper;
 
 
 import eu.partyn.app.dto.EventDto;
+import eu.partyn.app.model.ArchivedEvent;
 import eu.partyn.app.model.Event;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 import java.util.List;
@@ -13,10 +15,21 @@ import java.util.List;
 public interface EventMapper {
     EventMapper INSTANCE = Mappers.getMapper(EventMapper.class);
 
+    @Mapping(target = "likes", ignore = true)
+    @Mapping(target = "pendingLikes", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "trendingScore", ignore = true)
+    @Mapping(target = "modSeq", ignore = true)
     Event toEntity(EventDto eventDto);
 
     EventDto toDto(Event event);
 
     List<EventDto> toDtoList(List<Event> events);
 
+    @Mapping(target = "status", constant = "ARCHIVED")
+    @Mapping(target = "version", ignore = true)
+    EventDto toDto(ArchivedEvent archivedEvent);
+
+    List<EventDto> toArchivedDtoList(List<ArchivedEvent> archivedEvents);
+
 }
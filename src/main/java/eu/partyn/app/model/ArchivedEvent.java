@@ -0,0 +1,58 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * An event moved out of the hot {@code event} table after it ended. Rows are written by the
+ * lifecycle scheduler with plain SQL and only read through JPA; the id is the original event id.
+ */
+@Entity
+@Table(name = "event_archive", indexes = {
+        @Index(name = "idx_event_archive_date_time_id", columnList = "dateTime, id")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedEvent {
+
+    @Id
+    private Integer id;
+
+    private String name;
+
+    private LocalDateTime dateTime;
+
+    private LocalDateTime endDateTime;
+
+    private Integer ticketPrice;
+
+    private String description;
+
+    private String location;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private Boolean topPick;
+
+    private String imageUrl;
+
+    private String cardUrl;
+
+    private String thumbnailUrl;
+
+    private Integer likes;
+
+    private LocalDateTime archivedAt;
+}
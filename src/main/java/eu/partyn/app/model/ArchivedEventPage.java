@@ -0,0 +1,10 @@
+package eu.partyn.app.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of archived events, newest first. {@code nextCursor} is {@code null} on the last
+ * page.
+ */
+public record ArchivedEventPage(List<ArchivedEvent> events, String nextCursor) {
+}
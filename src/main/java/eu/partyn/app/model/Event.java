@@ -1,12 +1,24 @@
 package eu.partyn.app.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,14 +29,28 @@ import java.time.LocalDateTime;
 
 
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_event_date_time_id", columnList = "dateTime, id"),
+        @Index(name = "idx_event_top_pick_date_time_id", columnList = "topPick, dateTime, id"),
+        @Index(name = "idx_event_location_date_time_id", columnList = "location, dateTime, id"),
+        @Index(name = "idx_event_ticket_price", columnList = "ticketPrice"),
+        @Index(name = "idx_event_status_end_date_time", columnList = "status, endDateTime"),
+        @Index(name = "idx_event_mod_seq", columnList = "modSeq")
+})
 @Data
-@Builder
+@Builder(toBuilder = true)
 @AllArgsConstructor
 @NoArgsConstructor
 public class Event {
 
+    /**
+     * Pooled sequence ids: one {@code nextval} reserves 50 ids, so batched inserts need no per-row
+     * round trip.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_seq")
+    @SequenceGenerator(name = "event_seq", sequenceName = "event_seq", allocationSize = 50)
     private Integer id;
 
     @NotBlank(message = "Event name cannot be blank")
@@ -46,11 +72,83 @@ public class Event {
     @NotBlank(message = "Location cannot be blank")
     private String location;
 
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    private Double latitude;
+
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    private Double longitude;
+
     @NotNull(message = "Top pick status cannot be null")
     private Boolean topPick;
 
+    /**
+     * Where the event is in its lifecycle. New events default to published.
+     */
+    @Enumerated(EnumType.STRING)
+    @ColumnDefault("'PUBLISHED'")
+    @Column(nullable = false, length = 16)
+    @Builder.Default
+    private EventStatus status = EventStatus.PUBLISHED;
+
     private String imageUrl;
 
+    private String cardUrl;
+
+    private String thumbnailUrl;
+
+    @Builder.Default
     private Integer likes = 0;
 
+    /**
+     * Log of the forward-decayed popularity kept by {@code EventTrending}, written back in SQL the same
+     * way as {@code likes}. Null until the event is first liked or viewed.
+     */
+    private Double trendingScore;
+
+    /**
+     * Optimistic-locking version. Like flushes update {@code likes} in SQL without touching it, so
+     * they never conflict with admin edits; dynamic updates in turn never write {@code likes} back.
+     * Lifecycle transitions do change it, since they rewrite {@code status}.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Position of the last committed change in the sync order, stamped by {@code EventSyncTracker}
+     * and never written by JPA. Zero for events not changed since sync tracking was added.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long modSeq;
+
+    /**
+     * Likes accepted in memory but not yet flushed to the database. Not persisted, so setting it
+     * never dirties a managed entity.
+     */
+    @Transient
+    private int pendingLikes;
+
+    /**
+     * Whether default listings show this event. Events built without a status count as published.
+     */
+    public boolean isListed() {
+        return status == null || status.isListed();
+    }
+
+    public boolean isPublic() {
+        return status == null || status.isPublic();
+    }
+
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+
+    public Integer getLikes() {
+        return (likes == null ? 0 : likes) + pendingLikes;
+    }
+
 }
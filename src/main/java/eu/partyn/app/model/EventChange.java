@@ -0,0 +1,49 @@
+package eu.partyn.app.model;
+
+/**
+ * Published through Spring's application event bus whenever an {@link Event} is created, updated,
+ * deleted or has its likes flushed. Listeners that keep derived state use it to stay in sync.
+ *
+ * <p>Changes committed by another instance are republished locally with {@code remote} set, so
+ * derived state follows them too; listeners that write or forward changes skip those.
+ *
+ * <p>{@code likes} is only set on {@code LIKED} changes published by a like flush: the event's
+ * stored like total right after the flushed delta was applied.
+ */
+public record EventChange(Type type, Integer eventId, boolean remote, Integer likes) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        LIKED
+    }
+
+    public EventChange(Type type, Integer eventId) {
+        this(type, eventId, false, null);
+    }
+
+    public static EventChange created(Integer eventId) {
+        return new EventChange(Type.CREATED, eventId);
+    }
+
+    public static EventChange updated(Integer eventId) {
+        return new EventChange(Type.UPDATED, eventId);
+    }
+
+    public static EventChange deleted(Integer eventId) {
+        return new EventChange(Type.DELETED, eventId);
+    }
+
+    public static EventChange liked(Integer eventId) {
+        return new EventChange(Type.LIKED, eventId);
+    }
+
+    public static EventChange liked(Integer eventId, Integer likes) {
+        return new EventChange(Type.LIKED, eventId, false, likes);
+    }
+
+    public static EventChange remote(Type type, Integer eventId) {
+        return new EventChange(type, eventId, true, null);
+    }
+}
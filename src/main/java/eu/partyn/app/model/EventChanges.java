@@ -0,0 +1,11 @@
+package eu.partyn.app.model;
+
+import java.util.List;
+
+/**
+ * The events changed after a sync token, in sync order: listed events to insert or replace, and ids
+ * of events that were deleted, archived or are no longer listed. {@code token} resumes after the
+ * last change returned; {@code more} is set when further changes did not fit the limit.
+ */
+public record EventChanges(List<Event> upserts, List<Integer> deletes, String token, boolean more) {
+}
@@ -0,0 +1,31 @@
+package eu.partyn.app.model;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Optional server-side filters for event listings. A {@code null} component means "no restriction".
+ * Listings always cover published and live events; {@code includeEnded} adds ended ones.
+ */
+public record EventFilter(LocalDateTime from,
+                          LocalDateTime to,
+                          Boolean topPick,
+                          String location,
+                          Integer minPrice,
+                          Integer maxPrice,
+                          boolean includeEnded) {
+
+    public static EventFilter none() {
+        return new EventFilter(null, null, null, null, null, null, false);
+    }
+
+    public Set<EventStatus> statuses() {
+        if (!includeEnded) {
+            return EventStatus.LISTED;
+        }
+        Set<EventStatus> statuses = EnumSet.copyOf(EventStatus.LISTED);
+        statuses.add(EventStatus.ENDED);
+        return statuses;
+    }
+}
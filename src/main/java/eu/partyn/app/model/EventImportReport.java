@@ -0,0 +1,16 @@
+package eu.partyn.app.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV import. {@code errors} lists at most the first rejected rows; {@code rejected}
+ * counts all of them.
+ */
+public record EventImportReport(int imported, int rejected, List<RowError> errors) {
+
+    /**
+     * A rejected row, identified by its line in the uploaded file.
+     */
+    public record RowError(long line, String message) {
+    }
+}
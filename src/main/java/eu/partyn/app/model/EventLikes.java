@@ -0,0 +1,27 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The users who liked an event, as a serialized Roaring bitmap of {@link UserIndex} positions.
+ * Rows are written and read by {@code LikeRegistry} with plain SQL.
+ */
+@Entity
+@Table(name = "event_like")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventLikes {
+
+    @Id
+    private Integer eventId;
+
+    @Column(nullable = false, length = 16 * 1024 * 1024)
+    private byte[] members;
+}
@@ -0,0 +1,9 @@
+package eu.partyn.app.model;
+
+import java.util.List;
+
+/**
+ * One keyset page of events. {@code nextCursor} is {@code null} on the last page.
+ */
+public record EventPage(List<Event> events, String nextCursor) {
+}
@@ -0,0 +1,43 @@
+package eu.partyn.app.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Lifecycle of an event. Admins move events between {@link #DRAFT} and {@link #PUBLISHED}; every
+ * later step follows the clock and is applied in batches by the lifecycle scheduler.
+ *
+ * <pre>
+ * DRAFT &lt;-&gt; PUBLISHED -&gt; LIVE -&gt; ENDED -&gt; ARCHIVED
+ *                 \____________^
+ * </pre>
+ */
+public enum EventStatus {
+    DRAFT,
+    PUBLISHED,
+    LIVE,
+    ENDED,
+    ARCHIVED;
+
+    /** Statuses shown by default listings, search and nearby queries. */
+    public static final Set<EventStatus> LISTED = EnumSet.of(PUBLISHED, LIVE);
+
+    public boolean isListed() {
+        return LISTED.contains(this);
+    }
+
+    /**
+     * Whether anyone may fetch and like the event: every status a listing can show, ended events
+     * included. Drafts are only visible to admins.
+     */
+    public boolean isPublic() {
+        return this != DRAFT;
+    }
+
+    /**
+     * Whether an admin may set this status by hand.
+     */
+    public boolean isEditable() {
+        return this == DRAFT || this == PUBLISHED;
+    }
+}
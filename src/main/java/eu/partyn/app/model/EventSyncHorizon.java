@@ -0,0 +1,29 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * The single row holding the highest sync position whose tombstones have been purged. Sync tokens
+ * below it are expired. Written and read by {@code EventSyncService} with plain SQL.
+ */
+@Entity
+@Table(name = "event_sync_horizon")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSyncHorizon {
+
+    @Id
+    private Integer id;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long purgedModSeq;
+}
@@ -0,0 +1,36 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Records that an event left the {@code event} table, deleted or archived, at position
+ * {@code modSeq} of the sync order, so delta sync can tell clients to drop it. Written by
+ * {@code EventSyncTracker} and purged after the tombstone retention.
+ */
+@Entity
+@Table(name = "event_tombstone", indexes = @Index(name = "idx_event_tombstone_mod_seq", columnList = "modSeq"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventTombstone {
+
+    @Id
+    private Integer eventId;
+
+    @Column(nullable = false)
+    private Long modSeq;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,7 @@
+package eu.partyn.app.model;
+
+/**
+ * Public URLs of the resized renditions of one uploaded image.
+ */
+public record ImageVariants(String thumbnailUrl, String cardUrl, String fullUrl) {
+}
@@ -0,0 +1,44 @@
+package eu.partyn.app.model;
+
+/**
+ * A committed {@link EventChange} as sent to the other instances over the invalidation bus.
+ *
+ * <p>{@code origin} identifies the instance that made the change and {@code version} identifies the
+ * message within it: versions are outbox record ids, or come from the sender's counter when it sends
+ * straight after commit. They tell repeated deliveries apart but do not follow commit order, so a
+ * higher version says nothing about how new the state behind a lower one is. {@code sentAtMillis} is
+ * the sender's wall clock, used to measure lag.
+ *
+ * <p>The wire format is a short {@code ;}-separated string that starts with a format number, so a
+ * changed layout can be told apart and rejected during a rolling deploy.
+ */
+public record Invalidation(String origin, long version, EventChange.Type type, Integer eventId, long sentAtMillis) {
+
+    public static final int FORMAT = 1;
+
+    public String encode() {
+        return FORMAT + ";" + origin + ";" + version + ";" + type.name() + ";" + eventId + ";" + sentAtMillis;
+    }
+
+    /**
+     * Parses a message written by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the message is malformed or uses another format
+     */
+    public static Invalidation decode(String message) {
+        String[] parts = message.split(";");
+        if (parts.length != 6 || !Integer.toString(FORMAT).equals(parts[0])) {
+            throw new IllegalArgumentException("Unsupported invalidation message: " + message);
+        }
+        try {
+            return new Invalidation(parts[1], Long.parseLong(parts[2]), EventChange.Type.valueOf(parts[3]),
+                    Integer.valueOf(parts[4]), Long.parseLong(parts[5]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported invalidation message: " + message, e);
+        }
+    }
+
+    public EventChange toChange() {
+        return EventChange.remote(type, eventId);
+    }
+}
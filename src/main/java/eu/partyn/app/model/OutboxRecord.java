@@ -0,0 +1,53 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed {@link EventChange}, waiting in {@code event_outbox} until the relay has handed it to
+ * every consumer. Rows are written and claimed with plain SQL; ids follow commit order for changes
+ * to the same event. {@code origin} is the id of the instance that made the change.
+ */
+@Entity
+@Table(name = "event_outbox")
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_outbox_seq")
+    @SequenceGenerator(name = "event_outbox_seq", sequenceName = "event_outbox_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer eventId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EventChange.Type type;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 36)
+    private String origin;
+
+    public EventChange toChange() {
+        return new EventChange(type, eventId);
+    }
+}
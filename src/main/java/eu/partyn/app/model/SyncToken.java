@@ -0,0 +1,44 @@
+package eu.partyn.app.model;
+
+import eu.partyn.app.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes a position in the sync order as an opaque, URL-safe token, and decodes it back. A missing
+ * token decodes to {@link #INITIAL}, before every event.
+ */
+public final class SyncToken {
+
+    public static final long INITIAL = -1;
+
+    private static final String PREFIX = "s";
+
+    private SyncToken() {
+    }
+
+    public static String encode(long modSeq) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + modSeq).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static long decode(String token) {
+        if (token == null || token.isBlank()) {
+            return INITIAL;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            long modSeq = Long.parseLong(raw.substring(PREFIX.length()));
+            if (modSeq < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+            return modSeq;
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(token);
+        }
+    }
+}
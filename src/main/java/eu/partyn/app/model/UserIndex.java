@@ -0,0 +1,33 @@
+package eu.partyn.app.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Maps a Firebase UID to a small dense integer, the position of that user in every like bitmap.
+ * Rows are written and read by {@code LikeRegistry} with plain SQL; the sequence is not pooled so
+ * indexes stay dense.
+ */
+@Entity
+@Table(name = "user_index")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserIndex {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_index_seq")
+    @SequenceGenerator(name = "user_index_seq", sequenceName = "user_index_seq", allocationSize = 1)
+    private Integer idx;
+
+    @Column(unique = true, nullable = false, length = 128)
+    private String uid;
+}
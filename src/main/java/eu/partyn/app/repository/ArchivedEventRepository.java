@@ -0,0 +1,13 @@
+package eu.partyn.app.repository;
+
+import eu.partyn.app.model.ArchivedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.stereotype.Repository;
+
+
+@Repository
+public interface ArchivedEventRepository extends JpaRepository<ArchivedEvent, Integer>, JpaSpecificationExecutor<ArchivedEvent> {
+
+
+}
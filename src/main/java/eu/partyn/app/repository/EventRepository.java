@@ -1,12 +1,17 @@
 package eu.partyn.app.repository;
 
 import eu.partyn.app.model.Event;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, Integer> {
+public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
 
+    List<Event> findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(long after, long upTo, Limit limit);
 
 }
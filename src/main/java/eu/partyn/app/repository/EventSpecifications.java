@@ -0,0 +1,46 @@
+package eu.partyn.app.repository;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventFilter;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * Translates the non-null parts of {@code filter} into predicates. Every column used here is
+     * covered by one of the indexes declared on {@link Event}. The status predicate is left to
+     * filter rows: with ended events archived, nearly every row in the table is listed.
+     */
+    public static Specification<Event> matching(EventFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(root.get("status").in(filter.statuses()));
+            if (filter.from() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dateTime"), filter.from()));
+            }
+            if (filter.to() != null) {
+                predicates.add(cb.lessThan(root.get("dateTime"), filter.to()));
+            }
+            if (filter.topPick() != null) {
+                predicates.add(cb.equal(root.get("topPick"), filter.topPick()));
+            }
+            if (filter.location() != null) {
+                predicates.add(cb.equal(root.get("location"), filter.location()));
+            }
+            if (filter.minPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("ticketPrice"), filter.minPrice()));
+            }
+            if (filter.maxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("ticketPrice"), filter.maxPrice()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -0,0 +1,15 @@
+package eu.partyn.app.repository;
+
+import eu.partyn.app.model.EventTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+
+@Repository
+public interface EventTombstoneRepository extends JpaRepository<EventTombstone, Integer> {
+
+    List<EventTombstone> findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(long after, long upTo, Limit limit);
+}
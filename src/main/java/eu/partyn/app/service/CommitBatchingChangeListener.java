@@ -0,0 +1,61 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base for listeners that write something for every local {@link EventChange} in the transaction
+ * that made it.
+ *
+ * <p>Changes published inside a transaction are collected and handed to {@link #write(List)} as one
+ * batch just before it commits, so the writes commit or roll back with the change and a failed
+ * write fails the commit. Changes published outside a transaction are written immediately. Remote
+ * changes were written by the instance that made them and are skipped.
+ */
+abstract class CommitBatchingChangeListener {
+
+    protected void collect(EventChange change) {
+        if (change.remote()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()) {
+            pendingChanges().add(change);
+        } else {
+            write(List.of(change));
+        }
+    }
+
+    /**
+     * Writes a non-empty batch of changes in the current transaction, if any.
+     */
+    protected abstract void write(List<EventChange> changes);
+
+    @SuppressWarnings("unchecked")
+    private List<EventChange> pendingChanges() {
+        List<EventChange> pending = (List<EventChange>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<EventChange> changes = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, changes);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!changes.isEmpty()) {
+                    write(changes);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CommitBatchingChangeListener.this);
+            }
+        });
+        return changes;
+    }
+}
@@ -0,0 +1,58 @@
+package eu.partyn.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, TTL-evicting cache of {@link Event} entities by id.
+ *
+ * <p>The cache holds detached copies and hands out a fresh copy on every read, so callers may mutate
+ * what they get without corrupting the cached state. Entries are evicted after any committed
+ * {@link EventChange} for their id. Hit ratio, evictions and size are exported through Micrometer
+ * under the {@code cache} metrics with {@code cache=events}.
+ */
+@Component
+public class EventCache {
+
+    private final Cache<Integer, Event> cache;
+
+    public EventCache(MeterRegistry meterRegistry,
+                      @Value("${partyn.cache.events.max-size:10000}") long maxSize,
+                      @Value("${partyn.cache.events.ttl:10m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "events");
+    }
+
+    public Optional<Event> get(Integer id, Function<Integer, Optional<Event>> loader) {
+        Event cached = cache.get(id, key -> loader.apply(key).map(EventCache::copy).orElse(null));
+        return Optional.ofNullable(cached).map(EventCache::copy);
+    }
+
+    public void evict(Integer id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        evict(change.eventId());
+    }
+
+    private static Event copy(Event event) {
+        return event.toBuilder().pendingLikes(0).build();
+    }
+}
@@ -0,0 +1,26 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.OutboxRecord;
+
+import java.util.List;
+
+/**
+ * Receives committed event changes from the outbox relay. Every consumer bean sees every record at
+ * least once, in id order within a batch, on whichever instance claimed the batch.
+ *
+ * <p>Records are notifications rather than state: a consumer re-reads what it needs, and must
+ * tolerate a record delivered twice (after a failed batch) or after a later one for the same event
+ * (when instances relay concurrently). Throwing rolls the whole batch back for all consumers.
+ */
+public interface EventChangeConsumer {
+
+    void accept(List<OutboxRecord> records);
+
+    /**
+     * Whether this consumer uses the records at all with the current configuration. When none does,
+     * {@link EventOutbox} stops writing them.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+}
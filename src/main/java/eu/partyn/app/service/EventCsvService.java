@@ -0,0 +1,312 @@
+package eu.partyn.app.service;
+
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventImportReport;
+import eu.partyn.app.model.EventImportReport.RowError;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.commons.csv.CSVRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk CSV import and export of events.
+ *
+ * <p>Import parses the upload record by record, validates each row against the {@link Event}
+ * constraints and inserts accepted rows in JDBC batches, one transaction per batch. If a batch fails,
+ * its rows are retried one by one so only the offending lines are rejected. Each row takes its id
+ * from {@code nextval('event_seq')} in the INSERT and the assigned ids are read back as generated
+ * keys. Hibernate's pooled generator only hands out ids of blocks whose value it fetched itself, so
+ * imported rows never collide with them, at the cost of skipping the rest of each fetched block.
+ * Export streams rows from a server-side cursor straight into the response. Neither holds more
+ * than one batch of rows in memory.
+ *
+ * <p>Columns are the {@link Event} property names; {@code id} and {@code likes} are exported but
+ * ignored on import, so an export can be imported into another environment as new events.
+ */
+@Service
+@Timed(value = "partyn.event.csv", histogram = true)
+public class EventCsvService {
+    private static final Logger logger = LoggerFactory.getLogger(EventCsvService.class);
+    private static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final String[] COLUMNS = {
+            "id", "name", "dateTime", "endDateTime", "ticketPrice", "description", "location",
+            "latitude", "longitude", "topPick", "imageUrl", "likes"
+    };
+    private static final String INSERT_SQL = """
+            INSERT INTO event (id, name, date_time, end_date_time, ticket_price, description, location,
+                               latitude, longitude, top_pick, image_url, likes, version, status)
+            VALUES (nextval('event_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 0, 'PUBLISHED')""";
+    private static final String EXPORT_SQL = """
+            SELECT id, name, date_time, end_date_time, ticket_price, description, location,
+                   latitude, longitude, top_pick, image_url, likes
+            FROM event ORDER BY date_time, id""";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate cursorTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Validator validator;
+    private final SecurityService securityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public EventCsvService(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           Validator validator,
+                           SecurityService securityService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${partyn.import.batch-size:500}") int batchSize,
+                           @Value("${partyn.export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        // PostgreSQL only streams through a cursor with a fetch size inside a transaction.
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.validator = validator;
+        this.securityService = securityService;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    public EventImportReport importEvents(FirebaseToken token, InputStream csv) throws IOException {
+        securityService.checkAdmin(token);
+        logger.info("Importing events from CSV");
+
+        ImportState state = new ImportState();
+        List<Event> batch = new ArrayList<>(batchSize);
+        List<Long> batchLines = new ArrayList<>(batchSize);
+        CSVFormat format = CSVFormat.DEFAULT.builder()
+                .setHeader()
+                .setSkipHeaderRecord(true)
+                .setIgnoreEmptyLines(true)
+                .setTrim(true)
+                .build();
+        try (Reader reader = new InputStreamReader(csv, StandardCharsets.UTF_8);
+             CSVParser parser = format.parse(reader)) {
+            for (CSVRecord record : parser) {
+                long line = parser.getCurrentLineNumber();
+                Event event;
+                try {
+                    event = toEvent(record);
+                } catch (RuntimeException e) {
+                    state.reject(line, e.getMessage());
+                    continue;
+                }
+                Set<ConstraintViolation<Event>> violations = validator.validate(event);
+                if (!violations.isEmpty()) {
+                    state.reject(line, violations.stream()
+                            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+                batch.add(event);
+                batchLines.add(line);
+                if (batch.size() == batchSize) {
+                    insertBatch(batch, batchLines, state);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insertBatch(batch, batchLines, state);
+        }
+        logger.info("Imported {} events, rejected {} rows", state.imported, state.rejected);
+        return new EventImportReport(state.imported, state.rejected, state.errors);
+    }
+
+    /**
+     * Checks access up front and returns a body that writes every event as CSV, reading through a
+     * database cursor while the response is streamed.
+     */
+    public StreamingResponseBody exportEvents(FirebaseToken token) {
+        securityService.checkAdmin(token);
+        logger.info("Exporting events to CSV");
+        return out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try {
+                    CSVPrinter printer = CSVFormat.DEFAULT.builder().setHeader(COLUMNS).build().print(writer);
+                    cursorTemplate.query(EXPORT_SQL, (ResultSet rs) -> printRow(printer, rs));
+                    printer.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+    }
+
+    private void insertBatch(List<Event> batch, List<Long> batchLines, ImportState state) {
+        try {
+            state.imported += insert(batch).size();
+        } catch (DataAccessException e) {
+            logger.warn("Import batch of {} rows starting at line {} failed, retrying row by row",
+                    batch.size(), batchLines.get(0), e);
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    state.imported += insert(List.of(batch.get(i))).size();
+                } catch (DataAccessException rowFailure) {
+                    state.reject(batchLines.get(i), "insert failed: " + rowFailure.getMostSpecificCause().getMessage());
+                }
+            }
+        } finally {
+            batch.clear();
+            batchLines.clear();
+        }
+    }
+
+    /**
+     * Inserts the events in one transaction and JDBC batch and announces each under the id the
+     * database assigned.
+     */
+    private List<Integer> insert(List<Event> events) {
+        return transactionTemplate.execute(status -> {
+            KeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            new ArgumentPreparedStatementSetter(row(events.get(i))).setValues(ps);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return events.size();
+                        }
+                    }, keys);
+            // Only the id is requested, whatever case the driver reports its name in.
+            List<Integer> ids = keys.getKeyList().stream()
+                    .map(key -> ((Number) key.values().iterator().next()).intValue())
+                    .toList();
+            ids.forEach(id -> eventPublisher.publishEvent(EventChange.created(id)));
+            return ids;
+        });
+    }
+
+    private static Event toEvent(CSVRecord record) {
+        return Event.builder()
+                .name(text(record, "name"))
+                .dateTime(dateTime(record, "dateTime"))
+                .endDateTime(dateTime(record, "endDateTime"))
+                .ticketPrice(record.isMapped("ticketPrice") && !record.get("ticketPrice").isEmpty()
+                        ? Integer.valueOf(record.get("ticketPrice")) : null)
+                .description(text(record, "description"))
+                .location(text(record, "location"))
+                .latitude(decimal(record, "latitude"))
+                .longitude(decimal(record, "longitude"))
+                .topPick(record.isMapped("topPick") && !record.get("topPick").isEmpty()
+                        ? Boolean.valueOf(record.get("topPick")) : null)
+                .imageUrl(text(record, "imageUrl"))
+                .build();
+    }
+
+    private static String text(CSVRecord record, String column) {
+        if (!record.isMapped(column) || !record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDateTime dateTime(CSVRecord record, String column) {
+        String value = text(record, column);
+        return value == null ? null : LocalDateTime.parse(value);
+    }
+
+    private static Double decimal(CSVRecord record, String column) {
+        String value = text(record, column);
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static Object[] row(Event event) {
+        return new Object[]{
+                event.getName(),
+                Timestamp.valueOf(event.getDateTime()),
+                Timestamp.valueOf(event.getEndDateTime()),
+                event.getTicketPrice(),
+                event.getDescription(),
+                event.getLocation(),
+                event.getLatitude(),
+                event.getLongitude(),
+                event.getTopPick(),
+                event.getImageUrl()
+        };
+    }
+
+    private static void printRow(CSVPrinter printer, ResultSet rs) throws SQLException {
+        try {
+            printer.printRecord(
+                    rs.getInt("id"),
+                    rs.getString("name"),
+                    localDateTime(rs.getTimestamp("date_time")),
+                    localDateTime(rs.getTimestamp("end_date_time")),
+                    rs.getObject("ticket_price"),
+                    rs.getString("description"),
+                    rs.getString("location"),
+                    rs.getObject("latitude"),
+                    rs.getObject("longitude"),
+                    rs.getObject("top_pick"),
+                    rs.getString("image_url"),
+                    rs.getObject("likes"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LocalDateTime localDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    /**
+     * Counters of one import.
+     */
+    private static final class ImportState {
+        private int imported;
+        private int rejected;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+}
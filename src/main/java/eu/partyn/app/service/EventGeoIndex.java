@@ -0,0 +1,147 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grid index over event coordinates for radius queries.
+ *
+ * <p>The globe is cut into cells of {@value #CELL_DEGREES} degrees (about 5.5 km north-south). A
+ * query visits only the cells overlapping the bounding box of its circle and computes distances for
+ * the events in those cells, so its cost follows local density rather than catalog size.
+ *
+ * <p>Holds listed (published or live) events only. Built from the database once the application is
+ * ready and maintained from committed {@link EventChange}s.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventGeoIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventGeoIndex.class);
+    public static final int MAX_RADIUS_METERS = 100_000;
+    static final double CELL_DEGREES = 0.05;
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+    private static final int LON_CELLS = (int) Math.round(360 / CELL_DEGREES);
+
+    private final EventRepository eventRepository;
+    private final Map<Long, Set<Integer>> cells = new ConcurrentHashMap<>();
+    private final Map<Integer, Point> points = new ConcurrentHashMap<>();
+
+    public record Point(double latitude, double longitude) {
+    }
+
+    public record Hit(Integer eventId, double distanceMeters) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        eventRepository.findAll().forEach(this::index);
+        logger.info("Geo index built with {} located events in {} cells", points.size(), cells.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        switch (change.type()) {
+            case CREATED, UPDATED -> eventRepository.findById(change.eventId())
+                    .ifPresentOrElse(this::index, () -> remove(change.eventId()));
+            case DELETED -> remove(change.eventId());
+            case LIKED -> { }
+        }
+    }
+
+    public synchronized void index(Event event) {
+        remove(event.getId());
+        if (!event.isListed() || !event.hasCoordinates()) {
+            return;
+        }
+        Point point = new Point(event.getLatitude(), event.getLongitude());
+        points.put(event.getId(), point);
+        cells.computeIfAbsent(cellOf(point), cell -> ConcurrentHashMap.newKeySet()).add(event.getId());
+    }
+
+    public synchronized void remove(Integer eventId) {
+        Point point = points.remove(eventId);
+        if (point == null) {
+            return;
+        }
+        cells.computeIfPresent(cellOf(point), (cell, ids) -> {
+            ids.remove(eventId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Returns events within {@code radiusMeters} of the given point, closest first.
+     */
+    public List<Hit> nearby(double latitude, double longitude, double radiusMeters, int limit) {
+        double latSpan = radiusMeters / METERS_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latSpan)));
+        double lonSpan = cosLat <= 0 ? 180 : Math.min(180, latSpan / cosLat);
+
+        int minLatCell = latCell(Math.max(-90, latitude - latSpan));
+        int maxLatCell = latCell(Math.min(90, latitude + latSpan));
+        int minLonCell = (int) Math.floor((longitude - lonSpan + 180) / CELL_DEGREES);
+        int maxLonCell = Math.min(minLonCell + LON_CELLS - 1, (int) Math.floor((longitude + lonSpan + 180) / CELL_DEGREES));
+
+        List<Hit> hits = new ArrayList<>();
+        for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (int lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                Set<Integer> ids = cells.get(key(latCell, Math.floorMod(lonCell, LON_CELLS)));
+                if (ids == null) {
+                    continue;
+                }
+                for (Integer id : ids) {
+                    Point point = points.get(id);
+                    if (point == null) {
+                        continue;
+                    }
+                    double distance = distanceMeters(latitude, longitude, point.latitude(), point.longitude());
+                    if (distance <= radiusMeters) {
+                        hits.add(new Hit(id, distance));
+                    }
+                }
+            }
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceMeters).thenComparing(Hit::eventId));
+        return hits.size() > limit ? List.copyOf(hits.subList(0, limit)) : hits;
+    }
+
+    /**
+     * Great-circle distance by the haversine formula.
+     */
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long cellOf(Point point) {
+        int lonCell = Math.floorMod((int) Math.floor((point.longitude() + 180) / CELL_DEGREES), LON_CELLS);
+        return key(latCell(point.latitude()), lonCell);
+    }
+
+    private static int latCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long key(int latCell, int lonCell) {
+        return ((long) latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
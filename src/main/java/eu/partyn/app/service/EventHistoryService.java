@@ -0,0 +1,36 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.ArchivedEvent;
+import eu.partyn.app.model.ArchivedEventPage;
+import eu.partyn.app.model.EventCursor;
+import eu.partyn.app.repository.ArchivedEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read access to events moved to {@code event_archive} by the lifecycle scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventHistoryService {
+    private static final Logger logger = LoggerFactory.getLogger(EventHistoryService.class);
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "dateTime", "id");
+    private final ArchivedEventRepository archivedEventRepository;
+
+    @Transactional(readOnly = true)
+    public ArchivedEventPage getArchivedEvents(String cursor, int limit) {
+        logger.info("Fetching archived events page: cursor={}, limit={}", cursor, limit);
+        int pageSize = Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE));
+        Window<ArchivedEvent> window = archivedEventRepository.findBy((root, query, cb) -> null,
+                query -> query.sortBy(NEWEST_FIRST).limit(pageSize).scroll(EventCursor.decode(cursor)));
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? EventCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        return new ArchivedEventPage(window.getContent(), nextCursor);
+    }
+}
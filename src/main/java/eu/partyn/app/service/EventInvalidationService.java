@@ -0,0 +1,133 @@
+package eu.partyn.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.Invalidation;
+import eu.partyn.app.model.OutboxRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps in-process state keyed on event ids in sync across instances.
+ *
+ * <p>With {@code partyn.invalidation.source=outbox} (the default) it is an {@link EventChangeConsumer}:
+ * the relay hands it committed outbox records, and each is sent over the {@link InvalidationBus} with
+ * the id of the instance that made the change and the record id as version. Sending happens inside
+ * the relay's transaction, so a change whose message could not be sent is redelivered, and a crash
+ * between commit and send loses nothing. With {@code source=commit} local changes are sent straight
+ * after commit with versions from a local counter instead, which is faster but lost on a crash.
+ *
+ * <p>Messages from other instances are republished locally as remote changes, so entity caches,
+ * list snapshots, search and geo indexes, trending and the change stream react as they do to local
+ * writes. Only exact repeats, the same origin and version delivered twice, are dropped; versions are
+ * remembered for {@code dedupe-window}. Versions do not follow commit order, since outbox ids are
+ * drawn before commit and relay batches can overtake each other, so a lower version can carry a
+ * change that is newer than one already applied. Receivers reload from the database, so applying a
+ * late message again is harmless, whereas dropping it could leave an edit unindexed.
+ *
+ * <p>{@code partyn.invalidation.lag} times sender commit to local apply, which is how stale another
+ * instance's writes can be here (up to clock skew). {@code partyn.invalidation.received} counts
+ * messages by outcome.
+ */
+@Service
+public class EventInvalidationService implements EventChangeConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(EventInvalidationService.class);
+
+    private final InvalidationBus invalidationBus;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final String origin;
+    private final boolean viaOutbox;
+    private final AtomicLong versions = new AtomicLong();
+    private final Cache<String, Boolean> applied;
+    private final Timer lag;
+
+    public EventInvalidationService(InvalidationBus invalidationBus,
+                                    InstanceId instanceId,
+                                    ApplicationEventPublisher eventPublisher,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${partyn.invalidation.source:outbox}") String source,
+                                    @Value("${partyn.invalidation.dedupe-window:10m}") Duration dedupeWindow,
+                                    @Value("${partyn.invalidation.dedupe-max-size:100000}") long dedupeMaxSize) {
+        this.invalidationBus = invalidationBus;
+        this.origin = instanceId.value();
+        this.viaOutbox = "outbox".equals(source);
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.applied = Caffeine.newBuilder()
+                .expireAfterWrite(dedupeWindow)
+                .maximumSize(dedupeMaxSize)
+                .build();
+        this.lag = Timer.builder("partyn.invalidation.lag")
+                .description("Time from a commit on another instance to its invalidation here")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        invalidationBus.subscribe(this::receive);
+    }
+
+    @Override
+    public void accept(List<OutboxRecord> records) {
+        if (!viaOutbox) {
+            return;
+        }
+        for (OutboxRecord record : records) {
+            long sentAt = record.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            invalidationBus.publish(new Invalidation(record.getOrigin() == null ? "unknown" : record.getOrigin(),
+                    record.getId(), record.getType(), record.getEventId(), sentAt));
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return viaOutbox;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (viaOutbox || change.remote()) {
+            return;
+        }
+        Invalidation invalidation = new Invalidation(origin, versions.incrementAndGet(), change.type(),
+                change.eventId(), System.currentTimeMillis());
+        try {
+            invalidationBus.publish(invalidation);
+        } catch (RuntimeException e) {
+            logger.error("Failed to publish invalidation {}", invalidation, e);
+            meterRegistry.counter("partyn.invalidation.publish.failures").increment();
+        }
+    }
+
+    private void receive(Invalidation invalidation) {
+        if (origin.equals(invalidation.origin())) {
+            return;
+        }
+        if (!claim(invalidation)) {
+            meterRegistry.counter("partyn.invalidation.received", "outcome", "duplicate").increment();
+            return;
+        }
+        eventPublisher.publishEvent(invalidation.toChange());
+        lag.record(Math.max(0, System.currentTimeMillis() - invalidation.sentAtMillis()), TimeUnit.MILLISECONDS);
+        meterRegistry.counter("partyn.invalidation.received", "outcome", "applied").increment();
+    }
+
+    /**
+     * Records the message as applied unless the same origin and version already was.
+     */
+    private boolean claim(Invalidation invalidation) {
+        String key = invalidation.origin() + ":" + invalidation.version();
+        return applied.asMap().putIfAbsent(key, Boolean.TRUE) == null;
+    }
+}
@@ -0,0 +1,133 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Moves events along their lifecycle as time passes and archives ended ones.
+ *
+ * <p>Every run applies three set-based steps, each in batches of up to {@code batch-size} rows and
+ * one transaction per batch: published events that started become live, published or live events
+ * that finished become ended, and events ended longer than {@code archive-after} are copied to
+ * {@code event_archive} and deleted from {@code event}. Candidate rows are locked when selected
+ * and every statement re-checks the source status, so concurrent runs on several instances neither
+ * skip nor duplicate a transition. Transitions are announced as {@link EventChange#updated}, and
+ * archival as {@link EventChange#deleted}, since the event leaves the hot table.
+ */
+@Service
+public class EventLifecycleService {
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+    private static final String ARCHIVED_COLUMNS = """
+            id, name, date_time, end_date_time, ticket_price, description, location, latitude, longitude,
+            top_pick, image_url, card_url, thumbnail_url, likes""";
+    private static final String STARTED_SQL = """
+            SELECT id FROM event WHERE status = 'PUBLISHED' AND date_time <= :now AND end_date_time > :now
+            ORDER BY id LIMIT :limit FOR UPDATE""";
+    private static final String FINISHED_SQL = """
+            SELECT id FROM event WHERE status IN ('PUBLISHED', 'LIVE') AND end_date_time <= :now
+            ORDER BY id LIMIT :limit FOR UPDATE""";
+    private static final String ARCHIVABLE_SQL = """
+            SELECT id FROM event WHERE status = 'ENDED' AND end_date_time <= :cutoff
+            ORDER BY id LIMIT :limit FOR UPDATE""";
+    // Bumps the version so an admin edit loaded before the transition fails instead of writing the old status back.
+    private static final String TRANSITION_SQL =
+            "UPDATE event SET status = :to, version = version + 1 WHERE id IN (:ids) AND status IN (:from)";
+    private static final String ARCHIVE_SQL = "INSERT INTO event_archive (" + ARCHIVED_COLUMNS + ", archived_at) "
+            + "SELECT " + ARCHIVED_COLUMNS + ", :now FROM event WHERE id IN (:ids) AND status = 'ENDED'";
+    private static final String DELETE_ARCHIVED_SQL = "DELETE FROM event WHERE id IN (:ids) AND status = 'ENDED'";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Duration archiveAfter;
+    private final int batchSize;
+
+    public EventLifecycleService(NamedParameterJdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 ApplicationEventPublisher eventPublisher,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${partyn.lifecycle.archive-after:7d}") Duration archiveAfter,
+                                 @Value("${partyn.lifecycle.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.archiveAfter = archiveAfter;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${partyn.lifecycle.interval-ms:60000}")
+    public void advanceLifecycle() {
+        advance(LocalDateTime.now());
+    }
+
+    /**
+     * Applies every transition due at {@code now}.
+     */
+    public void advance(LocalDateTime now) {
+        MapSqlParameterSource due = new MapSqlParameterSource("now", now);
+        int live = transition(STARTED_SQL, due, EventStatus.LIVE, List.of(EventStatus.PUBLISHED));
+        int ended = transition(FINISHED_SQL, due, EventStatus.ENDED, List.of(EventStatus.PUBLISHED, EventStatus.LIVE));
+        int archived = inBatches(ARCHIVABLE_SQL, new MapSqlParameterSource("cutoff", now.minus(archiveAfter)), ids -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("ids", ids).addValue("now", now);
+            jdbcTemplate.update(ARCHIVE_SQL, params);
+            jdbcTemplate.update(DELETE_ARCHIVED_SQL, params);
+            return EventChange::deleted;
+        }, EventStatus.ARCHIVED);
+        if (live + ended + archived > 0) {
+            logger.info("Lifecycle: {} events went live, {} ended, {} archived", live, ended, archived);
+        }
+    }
+
+    private int transition(String candidatesSql, MapSqlParameterSource due, EventStatus to, List<EventStatus> from) {
+        List<String> fromNames = from.stream().map(Enum::name).toList();
+        return inBatches(candidatesSql, due, ids -> {
+            jdbcTemplate.update(TRANSITION_SQL, new MapSqlParameterSource("ids", ids)
+                    .addValue("to", to.name())
+                    .addValue("from", fromNames));
+            return EventChange::updated;
+        }, to);
+    }
+
+    /**
+     * Selects and locks up to one batch of candidates, applies {@code step} to them and announces
+     * the change, until a batch comes back short.
+     */
+    private int inBatches(String candidatesSql, MapSqlParameterSource criteria,
+                          Function<List<Integer>, Function<Integer, EventChange>> step, EventStatus to) {
+        MapSqlParameterSource params = new MapSqlParameterSource(criteria.getValues()).addValue("limit", batchSize);
+        int total = 0;
+        int selected;
+        do {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Integer> ids = jdbcTemplate.queryForList(candidatesSql, params, Integer.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Function<Integer, EventChange> change = step.apply(ids);
+                ids.forEach(id -> eventPublisher.publishEvent(change.apply(id)));
+                return ids.size();
+            });
+            selected = moved == null ? 0 : moved;
+            total += selected;
+        } while (selected == batchSize);
+        meterRegistry.counter("partyn.lifecycle.transitions", "status", to.name()).increment(total);
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package eu.partyn.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.partyn.app.dto.EventPageDto;
+import eu.partyn.app.mapper.EventMapper;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventCursor;
+import eu.partyn.app.model.EventFilter;
+import eu.partyn.app.model.EventPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps serialized {@code GET /events} responses as immutable byte snapshots.
+ *
+ * <p>Each distinct page request (filter, cursor, limit) is queried, mapped and serialized once, then
+ * stored as raw JSON, gzip-compressed JSON and a strong ETag. Limits are clamped to the page size
+ * actually served before they become part of the key, so near-duplicate limits share a snapshot.
+ *
+ * <p>A committed {@link EventChange} bumps the generation and drops only the snapshots it can affect.
+ * Every change drops the pages that list the event. A created or updated event also drops the pages
+ * whose keyset range, from the cursor to the last listed event, takes in its current
+ * {@code (dateTime, id)}, whatever their filter: keyset pages are anchored on their cursor, so an
+ * event entering one page never shifts the others. The next request for a page rebuilds it, and
+ * concurrent requests for the same page wait for that single rebuild. A snapshot built while a
+ * change landed is served once but never kept.
+ */
+@Service
+public class EventListSnapshotService {
+    private static final Logger logger = LoggerFactory.getLogger(EventListSnapshotService.class);
+
+    private final EventService eventService;
+    private final EventMapper eventMapper;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, Snapshot> snapshots;
+    private final AtomicLong generation = new AtomicLong();
+    private final Timer mappingTimer;
+    private final Timer serializationTimer;
+
+    public EventListSnapshotService(EventService eventService,
+                                    EventMapper eventMapper,
+                                    ObjectMapper objectMapper,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${partyn.cache.event-list.max-pages:256}") long maxPages) {
+        this.eventService = eventService;
+        this.eventMapper = eventMapper;
+        this.objectMapper = objectMapper;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "eventListSnapshots");
+        this.mappingTimer = Timer.builder("partyn.controller.mapping")
+                .tag("stage", "toDtoList")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.serializationTimer = Timer.builder("partyn.controller.mapping")
+                .tag("stage", "serialize")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public Snapshot get(EventFilter filter, String cursor, int limit) {
+        Key key = new Key(filter, cursor, Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE)));
+        long builtAt = generation.get();
+        Snapshot snapshot = snapshots.get(key, this::build);
+        if (generation.get() != builtAt) {
+            snapshots.asMap().remove(key, snapshot);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        generation.incrementAndGet();
+        Integer eventId = change.eventId();
+        snapshots.asMap().values().removeIf(snapshot -> snapshot.eventIds().contains(eventId));
+        if (change.type() == EventChange.Type.CREATED || change.type() == EventChange.Type.UPDATED) {
+            eventService.getCommittedEvent(eventId).ifPresent(event -> {
+                if (event.getDateTime() == null) {
+                    snapshots.invalidateAll();
+                    return;
+                }
+                Position position = new Position(event.getDateTime(), eventId);
+                snapshots.asMap().values().removeIf(snapshot -> snapshot.covers(position));
+            });
+        }
+    }
+
+    private Snapshot build(Key key) {
+        logger.debug("Rebuilding event list snapshot for {}", key);
+        EventPage page = eventService.getEvents(key.filter(), key.cursor(), key.limit());
+        EventPageDto pageDto = mappingTimer.record(() -> new EventPageDto(eventMapper.toDtoList(page.events()))
+                .nextCursor(page.nextCursor()));
+        try {
+            byte[] json = serializationTimer.recordCallable(() -> objectMapper.writeValueAsBytes(pageDto));
+            Set<Integer> eventIds = page.events().stream().map(Event::getId).collect(Collectors.toUnmodifiableSet());
+            KeysetScrollPosition start = EventCursor.decode(key.cursor());
+            Position after = start.isInitial()
+                    ? null
+                    : new Position((LocalDateTime) start.getKeys().get("dateTime"), (Integer) start.getKeys().get("id"));
+            Event last = page.events().isEmpty() ? null : page.events().get(page.events().size() - 1);
+            Position upTo = page.nextCursor() == null || last == null ? null : new Position(last.getDateTime(), last.getId());
+            return new Snapshot(json, gzip(json), digest(json), eventIds, after, upTo);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to serialize event page", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String digest(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(Arrays.copyOf(hash, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Key(EventFilter filter, String cursor, int limit) {
+    }
+
+    /**
+     * A keyset position in listing order.
+     */
+    public record Position(LocalDateTime dateTime, Integer id) implements Comparable<Position> {
+        private static final Comparator<Position> ORDER = Comparator.comparing(Position::dateTime)
+                .thenComparing(Position::id);
+
+        @Override
+        public int compareTo(Position other) {
+            return ORDER.compare(this, other);
+        }
+    }
+
+    /**
+     * One serialized page. The gzip representation carries its own ETag, as strong validators must
+     * differ between encodings of the same resource. The page spans the positions after {@code after}
+     * up to and including {@code upTo}; {@code null} leaves that end open.
+     */
+    public record Snapshot(byte[] json, byte[] gzip, String digest, Set<Integer> eventIds,
+                           Position after, Position upTo) {
+
+        boolean covers(Position position) {
+            return (after == null || position.compareTo(after) > 0)
+                    && (upTo == null || position.compareTo(upTo) <= 0);
+        }
+
+        public String etag() {
+            return "\"" + digest + "\"";
+        }
+
+        public String gzipEtag() {
+            return "\"" + digest + "-gzip\"";
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(etag()) || tag.equals(gzipEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
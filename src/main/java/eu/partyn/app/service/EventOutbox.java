@@ -0,0 +1,54 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Writes every local {@link EventChange} to {@code event_outbox} in the transaction that made the
+ * change, as one batch just before commit, so a change is recorded exactly when it commits.
+ * {@link OutboxRelay} delivers the rows afterwards. If no {@link EventChangeConsumer} is enabled,
+ * e.g. with {@code partyn.invalidation.source=commit}, nothing would ever read them and nothing is
+ * written.
+ */
+@Component
+public class EventOutbox extends CommitBatchingChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(EventOutbox.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO event_outbox (id, event_id, type, created_at, origin) VALUES (nextval('event_outbox_seq'), ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InstanceId instanceId;
+    private final boolean enabled;
+
+    public EventOutbox(JdbcTemplate jdbcTemplate, InstanceId instanceId, List<EventChangeConsumer> consumers) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instanceId = instanceId;
+        this.enabled = consumers.stream().anyMatch(EventChangeConsumer::isEnabled);
+        if (!enabled) {
+            logger.info("No outbox consumer is enabled, event changes are not written to the outbox");
+        }
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        if (enabled) {
+            collect(change);
+        }
+    }
+
+    @Override
+    protected void write(List<EventChange> changes) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, changes.stream()
+                .map(change -> new Object[]{change.eventId(), change.type().name(), now, instanceId.value()})
+                .toList());
+    }
+}
@@ -0,0 +1,164 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over event name, location and description.
+ *
+ * <p>Terms are lower-cased and stripped of diacritics, so "moku" finds "Möku". Postings are kept in
+ * a sorted map, which makes prefix expansion of a query term a range scan instead of a table scan.
+ * Each posting weighs {@code boost * (1 + ln tf)} per field (name 3, location 2, description 1);
+ * a query scores documents by the sum, over its terms, of the best matching posting weighted by
+ * inverse document frequency. Prefix matches count half. Every query term must match.
+ *
+ * <p>Only listed (published or live) events are indexed. The index is built from the database once
+ * the application is ready and then maintained from committed {@link EventChange}s.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final float NAME_BOOST = 3f;
+    private static final float LOCATION_BOOST = 2f;
+    private static final float DESCRIPTION_BOOST = 1f;
+    private static final float PREFIX_FACTOR = 0.5f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final EventRepository eventRepository;
+    private final NavigableMap<String, Map<Integer, Float>> postings = new ConcurrentSkipListMap<>();
+    private final Map<Integer, Map<String, Float>> documents = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Event> events = eventRepository.findAll();
+        events.forEach(this::index);
+        logger.info("Search index built with {} events and {} terms", documents.size(), postings.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        switch (change.type()) {
+            case CREATED, UPDATED -> eventRepository.findById(change.eventId())
+                    .ifPresentOrElse(this::index, () -> remove(change.eventId()));
+            case DELETED -> remove(change.eventId());
+            case LIKED -> { }
+        }
+    }
+
+    public synchronized void index(Event event) {
+        remove(event.getId());
+        if (!event.isListed()) {
+            return;
+        }
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, event.getName(), NAME_BOOST);
+        addField(terms, event.getLocation(), LOCATION_BOOST);
+        addField(terms, event.getDescription(), DESCRIPTION_BOOST);
+        terms.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new ConcurrentHashMap<>()).put(event.getId(), weight));
+        documents.put(event.getId(), terms);
+    }
+
+    public synchronized void remove(Integer eventId) {
+        Map<String, Float> terms = documents.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms.keySet()) {
+            postings.computeIfPresent(term, (t, docs) -> {
+                docs.remove(eventId);
+                return docs.isEmpty() ? null : docs;
+            });
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching events, most relevant first.
+     */
+    public List<Integer> search(String query, int limit) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        int documentCount = Math.max(1, documents.size());
+        Map<Integer, Float> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Integer, Float> termScores = scoreTerm(queryTerm, documentCount);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                scores.keySet().retainAll(termScores.keySet());
+                scores.replaceAll((id, score) -> score + termScores.get(id));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Float>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private Map<Integer, Float> scoreTerm(String queryTerm, int documentCount) {
+        Map<Integer, Float> scores = new HashMap<>();
+        int expansions = 0;
+        for (Map.Entry<String, Map<Integer, Float>> entry
+                : postings.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            if (expansions++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<Integer, Float> docs = entry.getValue();
+            float idf = (float) Math.log(1 + documentCount / (double) docs.size());
+            float factor = entry.getKey().equals(queryTerm) ? 1f : PREFIX_FACTOR;
+            docs.forEach((id, weight) -> scores.merge(id, weight * idf * factor, Math::max));
+        }
+        return scores;
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float boost) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String term : tokenize(text)) {
+            frequencies.merge(term, 1, Integer::sum);
+        }
+        frequencies.forEach((term, tf) -> terms.merge(term, boost * (1 + (float) Math.log(tf)), Float::sum));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_WORD.split(folded.toLowerCase())) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,50 +1,118 @@
 package eu.partyn.app.service;
 
-import com.google.cloud.storage.*;
 import com.google.firebase.auth.FirebaseToken;
 import eu.partyn.app.exception.EventNotFoundException;
+import eu.partyn.app.exception.EventVersionMismatchException;
 import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventCursor;
+import eu.partyn.app.model.EventFilter;
+import eu.partyn.app.model.EventPage;
+import eu.partyn.app.model.EventStatus;
+import eu.partyn.app.model.ImageVariants;
 import eu.partyn.app.repository.EventRepository;
-import jakarta.transaction.Transactional;
+import eu.partyn.app.repository.EventSpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
+@Timed(value = "partyn.event.service", histogram = true)
 public class EventService {
     private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final Sort KEYSET_ORDER = Sort.by("dateTime", "id");
     private final EventRepository eventRepository;
-    private final Storage storage;
+    private final ImagePipeline imagePipeline;
     private final SecurityService sercurityService;
+    private final LikeCounter likeCounter;
+    private final EventCache eventCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LikeRegistry likeRegistry;
 
-    public List<Event> getAllEvents() {
-        logger.info("Fetching all events");
-        return eventRepository.findAll();
+    @Transactional(readOnly = true)
+    public EventPage getEvents(EventFilter filter, String cursor, int limit) {
+        logger.info("Fetching events page: filter={}, cursor={}, limit={}", filter, cursor, limit);
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Window<Event> window = eventRepository.findBy(EventSpecifications.matching(filter),
+                query -> query.sortBy(KEYSET_ORDER).limit(pageSize).scroll(EventCursor.decode(cursor)));
+        String nextCursor = window.hasNext() && !window.isEmpty()
+                ? EventCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        window.forEach(this::withPendingLikes);
+        return new EventPage(window.getContent(), nextCursor);
     }
 
+    /**
+     * The event if it is public; drafts are reported as missing.
+     */
+    @Transactional(readOnly = true)
     public Optional<Event> getEventById(Integer id) {
         logger.info("Fetching event by id: {}", id);
+        return eventCache.get(id, eventRepository::findById).filter(Event::isPublic).map(this::withPendingLikes);
+    }
+
+    /**
+     * The event in any status, drafts included. Admins only.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Event> getAnyEventById(FirebaseToken token, Integer id) {
+        sercurityService.checkAdmin(token);
+        logger.info("Fetching event by id for admin: {}", id);
+        return eventCache.get(id, eventRepository::findById).map(this::withPendingLikes);
+    }
+
+    /**
+     * The event as just committed, bypassing the cache. Not read-only, so it is read from the primary
+     * even right after a commit on another instance that a replica may not have applied yet.
+     */
+    public Optional<Event> getCommittedEvent(Integer id) {
         return eventRepository.findById(id);
     }
 
+    /**
+     * Loads the given events in the order of {@code ids}, skipping ids that no longer exist.
+     */
+    @Transactional(readOnly = true)
+    public List<Event> getEventsByIds(List<Integer> ids) {
+        Map<Integer, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(this::withPendingLikes)
+                .toList();
+    }
+
     public Event postEvent(FirebaseToken token, Event event, MultipartFile file) throws IOException{
         sercurityService.checkAdmin(token);
 
         logger.info("Posting new event: {}", event);
+        event.setStatus(initialStatus(event));
         if (file != null && !file.isEmpty()) {
-            String fileName = uploadFile(file);
-            event.setImageUrl(fileName);
+            applyImage(event, file);
         }
-        return eventRepository.save(event);
+        Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(EventChange.created(savedEvent.getId()));
+        return savedEvent;
     }
 
     public void deleteEvent(FirebaseToken token, Integer id) {
@@ -53,6 +121,7 @@ public class EventService {
         Event event = eventRepository.findById(id)
                 .orElseThrow(() -> new EventNotFoundException(id));
         eventRepository.delete(event);
+        eventPublisher.publishEvent(EventChange.deleted(id));
     }
 
     public Event updateEvent(FirebaseToken token, Event event, MultipartFile file) throws IOException {
@@ -62,38 +131,167 @@ public class EventService {
                 .orElseThrow(() -> new EventNotFoundException(event.getId()));
 
         if (file != null && !file.isEmpty()) {
-            String fileName = uploadFile(file);
-            existingEvent.setImageUrl(fileName);
+            applyImage(existingEvent, file);
         }
 
+        applyChanges(existingEvent, event);
+
+        Event savedEvent = eventRepository.save(existingEvent);
+        eventPublisher.publishEvent(EventChange.updated(savedEvent.getId()));
+        return savedEvent;
+    }
+
+    /**
+     * Applies {@code patch} to a copy of the stored event and copies the result back onto it, but
+     * only if the stored version is {@code expectedVersion} ({@code null} skips the check). Only
+     * changed columns are written, and nothing at all if the patch changes nothing. The returned
+     * event carries the new version.
+     */
+    public Event patchEvent(FirebaseToken token, Integer id, Long expectedVersion, UnaryOperator<Event> patch) {
+        sercurityService.checkAdmin(token);
+        logger.info("Patching event {} at version {}", id, expectedVersion);
+        Event existingEvent = eventRepository.findById(id)
+                .orElseThrow(() -> new EventNotFoundException(id));
+        if (expectedVersion != null && !expectedVersion.equals(existingEvent.getVersion())) {
+            throw new EventVersionMismatchException(id, expectedVersion, existingEvent.getVersion());
+        }
+
+        applyChanges(existingEvent, patch.apply(existingEvent.toBuilder().build()));
+
+        Event savedEvent = eventRepository.saveAndFlush(existingEvent);
+        eventPublisher.publishEvent(EventChange.updated(savedEvent.getId()));
+        return savedEvent;
+    }
+
+    /**
+     * Creates all events in one transaction. Inserts go out as JDBC batches.
+     */
+    public List<Event> postEvents(FirebaseToken token, List<Event> events) {
+        sercurityService.checkAdmin(token);
+        logger.info("Posting {} events", events.size());
+        events.forEach(event -> event.setStatus(initialStatus(event)));
+        List<Event> savedEvents = eventRepository.saveAll(events);
+        savedEvents.forEach(event -> eventPublisher.publishEvent(EventChange.created(event.getId())));
+        return savedEvents;
+    }
+
+    /**
+     * Updates all events in one transaction, loading them with a single query. Fails as a whole if
+     * any id is unknown.
+     */
+    public List<Event> updateEvents(FirebaseToken token, List<Event> events) {
+        sercurityService.checkAdmin(token);
+        logger.info("Updating {} events", events.size());
+        Map<Integer, Event> existingEvents = findAllOrThrow(events.stream().map(Event::getId).toList());
+        for (Event event : events) {
+            applyChanges(existingEvents.get(event.getId()), event);
+        }
+        List<Event> savedEvents = eventRepository.saveAll(existingEvents.values());
+        savedEvents.forEach(event -> eventPublisher.publishEvent(EventChange.updated(event.getId())));
+        return savedEvents;
+    }
+
+    /**
+     * Deletes all events in one transaction with a single statement. Fails as a whole if any id is
+     * unknown.
+     */
+    public void deleteEvents(FirebaseToken token, List<Integer> ids) {
+        sercurityService.checkAdmin(token);
+        logger.info("Deleting {} events", ids.size());
+        Map<Integer, Event> existingEvents = findAllOrThrow(ids);
+        eventRepository.deleteAllInBatch(existingEvents.values());
+        existingEvents.keySet().forEach(id -> eventPublisher.publishEvent(EventChange.deleted(id)));
+    }
+
+    private Map<Integer, Event> findAllOrThrow(List<Integer> ids) {
+        Map<Integer, Event> byId = eventRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        for (Integer id : ids) {
+            if (!byId.containsKey(id)) {
+                throw new EventNotFoundException(id);
+            }
+        }
+        return byId;
+    }
+
+    private static void applyChanges(Event existingEvent, Event event) {
         existingEvent.setName(event.getName());
         existingEvent.setDescription(event.getDescription());
         existingEvent.setDateTime(event.getDateTime());
         existingEvent.setEndDateTime(event.getEndDateTime());
         existingEvent.setTicketPrice(event.getTicketPrice());
         existingEvent.setTopPick(event.getTopPick());
-        existingEvent.setLocation(existingEvent.getLocation());
+        existingEvent.setLocation(event.getLocation());
+        existingEvent.setLatitude(event.getLatitude());
+        existingEvent.setLongitude(event.getLongitude());
+        if (event.getStatus() != null && event.getStatus().isEditable() && existingEvent.getStatus().isEditable()) {
+            existingEvent.setStatus(event.getStatus());
+        }
+    }
+
+    /**
+     * New events start as drafts when asked to, and as published otherwise; later states are
+     * reached only through the lifecycle scheduler.
+     */
+    private static EventStatus initialStatus(Event event) {
+        return event.getStatus() == EventStatus.DRAFT ? EventStatus.DRAFT : EventStatus.PUBLISHED;
+    }
 
-        return eventRepository.save(existingEvent);
+    private void applyImage(Event event, MultipartFile file) throws IOException {
+        ImageVariants variants = imagePipeline.store(file.getBytes());
+        event.setImageUrl(variants.fullUrl());
+        event.setCardUrl(variants.cardUrl());
+        event.setThumbnailUrl(variants.thumbnailUrl());
     }
 
-    private String uploadFile(MultipartFile file) throws IOException{
-        String fileName = UUID.randomUUID().toString() + "-" + file.getOriginalFilename();
-        BlobId blobId = BlobId.of("partyn-79f01.appspot.com", "events/" + fileName);
-        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
-                .setContentType(file.getContentType())
-                .build();
-        Blob blob = storage.create(blobInfo, file.getInputStream());
+    /**
+     * Likes the event on behalf of the token's user. Each user counts once per event; a repeated like
+     * returns {@code false} and leaves the count alone.
+     */
+    public boolean likeEvent(FirebaseToken token, Integer id) {
+        requireEvent(id);
+        boolean liked = likeRegistry.like(id, token.getUid());
+        if (liked) {
+            likeCounter.increment(id);
+        }
+        return liked;
+    }
 
-        storage.createAcl(blobId, Acl.of(Acl.User.ofAllUsers(), Acl.Role.READER));
+    /**
+     * Withdraws the user's like. Returns {@code false} if the user had not liked the event.
+     */
+    public boolean unlikeEvent(FirebaseToken token, Integer id) {
+        requireEvent(id);
+        boolean unliked = likeRegistry.unlike(id, token.getUid());
+        if (unliked) {
+            likeCounter.decrement(id);
+        }
+        return unliked;
+    }
 
-        return String.format("https://storage.googleapis.com/%s/%s", blobInfo.getBucket(), blobInfo.getName());
+    /**
+     * Not read-only: a like made a moment ago must be visible, so bitmaps are loaded from the primary.
+     */
+    public boolean hasLiked(FirebaseToken token, Integer id) {
+        requireEvent(id);
+        return likeRegistry.hasLiked(id, token.getUid());
     }
 
-    public void incrementLikes(Integer id) {
-        Event event = eventRepository.findById(id)
-                .orElseThrow(() -> new EventNotFoundException(id));
-        event.setLikes(event.getLikes() + 1);
-        eventRepository.save(event);
+    /**
+     * The ids among {@code ids} that the user liked, in the given order. Unknown ids are never liked.
+     */
+    public List<Integer> getLikedEventIds(FirebaseToken token, List<Integer> ids) {
+        return likeRegistry.likedAmong(token.getUid(), ids);
+    }
+
+    private void requireEvent(Integer id) {
+        if (eventCache.get(id, eventRepository::findById).filter(Event::isPublic).isEmpty()) {
+            throw new EventNotFoundException(id);
+        }
+    }
+
+    private Event withPendingLikes(Event event) {
+        event.setPendingLikes(likeCounter.pending(event.getId()));
+        return event;
     }
 }
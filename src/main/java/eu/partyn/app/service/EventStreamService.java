@@ -0,0 +1,180 @@
+package eu.partyn.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.partyn.app.model.EventChange;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Pushes compact change messages to Server-Sent Events subscribers of {@code /events/stream}.
+ *
+ * <p>Committed {@link EventChange}s are only marked per event id; a scheduled tick turns the marks
+ * into one {@code changes} message per interval, so a like storm on one event costs at most one
+ * entry per tick. Like totals come with the flushed {@code LIKED} changes; only changes from other
+ * instances, which carry none, are looked up, in one query per tick.
+ *
+ * <p>Subscribers hold no thread while idle: {@link SseEmitter} parks the request in servlet async
+ * mode. Each subscriber has its own serial sender, a single virtual thread draining a bounded queue,
+ * so its messages go out one at a time and in order, and a slow client only delays itself. The
+ * sender thread exits once its queue has been idle for {@code sender-keep-alive-ms} and is started
+ * again by the next message, so idle subscribers between heartbeats hold no thread either. A client
+ * that falls {@code max-queued} messages behind is disconnected and reconnects.
+ */
+@Service
+public class EventStreamService {
+    private static final Logger logger = LoggerFactory.getLogger(EventStreamService.class);
+
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int maxQueued;
+    private final long senderKeepAliveMs;
+    private final Map<SseEmitter, ExecutorService> subscribers = new ConcurrentHashMap<>();
+    private final Map<Integer, EventChange.Type> dirty = new ConcurrentHashMap<>();
+    private final Map<Integer, Integer> likeTotals = new ConcurrentHashMap<>();
+
+    public EventStreamService(EventService eventService,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${partyn.stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                              @Value("${partyn.stream.max-queued:32}") int maxQueued,
+                              @Value("${partyn.stream.sender-keep-alive-ms:5000}") long senderKeepAliveMs) {
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.maxQueued = maxQueued;
+        this.senderKeepAliveMs = senderKeepAliveMs;
+        Gauge.builder("partyn.stream.subscribers", subscribers, Map::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(e -> unsubscribe(emitter));
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(5_000).comment("connected"));
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+            return emitter;
+        }
+        ThreadPoolExecutor sender = new ThreadPoolExecutor(1, 1, senderKeepAliveMs, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued), Thread.ofVirtual().name("sse-sender").factory());
+        sender.allowCoreThreadTimeOut(true);
+        subscribers.put(emitter, sender);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        if (change.likes() != null) {
+            likeTotals.put(change.eventId(), change.likes());
+        }
+        // A deletion wins over anything else queued for the same event in this interval.
+        dirty.merge(change.eventId(), change.type(),
+                (queued, incoming) -> queued == EventChange.Type.DELETED ? queued : incoming);
+    }
+
+    @Scheduled(fixedDelayString = "${partyn.stream.interval-ms:1000}")
+    public void broadcastChanges() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> messages = new ArrayList<>();
+        Map<Integer, Map<String, Object>> missingTotals = new HashMap<>();
+        for (Integer eventId : List.copyOf(dirty.keySet())) {
+            EventChange.Type type = dirty.remove(eventId);
+            if (type == null) {
+                continue;
+            }
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("type", type);
+            message.put("id", eventId);
+            Integer likes = likeTotals.remove(eventId);
+            if (type == EventChange.Type.LIKED) {
+                if (likes != null) {
+                    message.put("likes", likes);
+                } else {
+                    missingTotals.put(eventId, message);
+                }
+            }
+            messages.add(message);
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!missingTotals.isEmpty()) {
+            eventService.getEventsByIds(List.copyOf(missingTotals.keySet()))
+                    .forEach(event -> missingTotals.get(event.getId()).put("likes", event.getLikes()));
+        }
+        try {
+            String payload = objectMapper.writeValueAsString(messages);
+            broadcast(() -> SseEmitter.event().name("changes").data(payload, MediaType.APPLICATION_JSON));
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to serialize {} stream messages", messages.size(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${partyn.stream.heartbeat-ms:25000}")
+    public void heartbeat() {
+        broadcast(() -> SseEmitter.event().comment("keepalive"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.keySet().forEach(SseEmitter::complete);
+        subscribers.values().forEach(ExecutorService::shutdown);
+    }
+
+    /**
+     * Builders are single-use, so every subscriber gets its own one around the shared payload.
+     */
+    private void broadcast(Supplier<SseEmitter.SseEventBuilder> event) {
+        subscribers.forEach((emitter, sender) -> {
+            try {
+                sender.execute(() -> {
+                    try {
+                        emitter.send(event.get());
+                    } catch (IOException | IllegalStateException e) {
+                        unsubscribe(emitter);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Disconnecting stream subscriber that is {} messages behind", maxQueued);
+                unsubscribe(emitter);
+                emitter.complete();
+            }
+        });
+    }
+
+    private void unsubscribe(SseEmitter emitter) {
+        ExecutorService sender = subscribers.remove(emitter);
+        if (sender != null) {
+            sender.shutdown();
+        }
+    }
+}
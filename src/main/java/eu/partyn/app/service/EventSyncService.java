@@ -0,0 +1,185 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.exception.SyncNotReadyException;
+import eu.partyn.app.exception.SyncTokenExpiredException;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChanges;
+import eu.partyn.app.model.EventTombstone;
+import eu.partyn.app.model.SyncToken;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.repository.EventTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delta sync: the events changed after a client's token, read in sync order from the
+ * {@code mod_seq} index on {@code event} and {@code event_tombstone}.
+ *
+ * <p>A request without a token returns the listed catalog page by page. Later requests return only
+ * what changed, so a refresh with no changes is an empty response with the same token. Tombstones
+ * older than {@code tombstone-retention} are purged; a token from before the newest purged tombstone
+ * can no longer see every delete and is rejected with {@link SyncTokenExpiredException}, after which
+ * the client starts over without a token.
+ *
+ * <p>Positions come from a sequence, so a transaction can commit after one that took a higher
+ * position. Reads therefore stop at the settled horizon: the last position the sequence had
+ * allocated one sampling interval ago, by which time those transactions have committed or rolled
+ * back. Changes reach clients up to two intervals late, but a token never skips one. Until the
+ * horizon has been sampled and {@link EventSyncTracker} has stamped every event, requests are
+ * rejected with {@link SyncNotReadyException}.
+ *
+ * <p>The horizon is sampled on the primary, so changes are read there too: a lagging replica can
+ * already hold a position below the horizon without an earlier one, and the token would skip it.
+ */
+@Service
+public class EventSyncService {
+    private static final Logger logger = LoggerFactory.getLogger(EventSyncService.class);
+    // Takes a position itself: every lower one is allocated. Unlike the sequence's last_value this also
+    // works on H2, which the load test and the startup benchmark run on.
+    private static final String ALLOCATED_SQL = "SELECT nextval('event_mod_seq') - 1";
+    private static final String PURGED_SQL = "SELECT purged_mod_seq FROM event_sync_horizon WHERE id = 1";
+    private static final String PURGEABLE_SQL = "SELECT MAX(mod_seq) FROM event_tombstone WHERE deleted_at < :cutoff";
+    private static final String PURGE_SQL = "DELETE FROM event_tombstone WHERE mod_seq <= :modSeq";
+    private static final String RECORD_PURGE_SQL =
+            "UPDATE event_sync_horizon SET purged_mod_seq = :modSeq WHERE id = 1 AND purged_mod_seq < :modSeq";
+    private static final String CREATE_HORIZON_SQL =
+            "INSERT INTO event_sync_horizon (id, purged_mod_seq) VALUES (1, 0) ON CONFLICT (id) DO NOTHING";
+
+    private final EventRepository eventRepository;
+    private final EventTombstoneRepository tombstoneRepository;
+    private final LikeCounter likeCounter;
+    private final EventSyncTracker syncTracker;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration tombstoneRetention;
+    private volatile long sampledModSeq = -1;
+    private volatile long settledModSeq = -1;
+
+    public EventSyncService(EventRepository eventRepository,
+                            EventTombstoneRepository tombstoneRepository,
+                            LikeCounter likeCounter,
+                            EventSyncTracker syncTracker,
+                            NamedParameterJdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${partyn.sync.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.eventRepository = eventRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.likeCounter = likeCounter;
+        this.syncTracker = syncTracker;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    /**
+     * Not read-only, so the rows are read from the primary the horizon was sampled from.
+     */
+    @Transactional
+    public EventChanges getChangesSince(String token, int limit) {
+        long since = SyncToken.decode(token);
+        long upTo = settledModSeq;
+        if (upTo < 0 || !syncTracker.isBackfilled()) {
+            throw new SyncNotReadyException();
+        }
+        int pageSize = Math.max(1, Math.min(limit, EventService.MAX_PAGE_SIZE));
+        boolean initial = since == SyncToken.INITIAL;
+        if (!initial && since < purgedModSeq()) {
+            throw new SyncTokenExpiredException(token);
+        }
+
+        List<Event> events = eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(
+                since, upTo, Limit.of(pageSize + 1));
+        List<EventTombstone> tombstones = initial
+                ? List.of()
+                : tombstoneRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(
+                        since, upTo, Limit.of(pageSize + 1));
+
+        List<Event> upserts = new ArrayList<>();
+        List<Integer> deletes = new ArrayList<>();
+        long position = Math.max(since, 0);
+        int nextEvent = 0;
+        int nextTombstone = 0;
+        for (int taken = 0; taken < pageSize; taken++) {
+            boolean eventsLeft = nextEvent < events.size();
+            boolean tombstonesLeft = nextTombstone < tombstones.size();
+            if (eventsLeft && (!tombstonesLeft
+                    || events.get(nextEvent).getModSeq() < tombstones.get(nextTombstone).getModSeq())) {
+                Event event = events.get(nextEvent++);
+                position = event.getModSeq();
+                if (event.isListed()) {
+                    event.setPendingLikes(likeCounter.pending(event.getId()));
+                    upserts.add(event);
+                } else if (!initial) {
+                    deletes.add(event.getId());
+                }
+            } else if (tombstonesLeft) {
+                EventTombstone tombstone = tombstones.get(nextTombstone++);
+                position = tombstone.getModSeq();
+                deletes.add(tombstone.getEventId());
+            } else {
+                break;
+            }
+        }
+        boolean more = nextEvent < events.size() || nextTombstone < tombstones.size();
+        return new EventChanges(upserts, deletes, SyncToken.encode(position), more);
+    }
+
+    /**
+     * Settles the position sampled on the previous call and samples the current one, so the settled
+     * horizon is always at least one interval old.
+     */
+    @Scheduled(fixedDelayString = "${partyn.sync.settle-interval-ms:1000}")
+    public void sampleHorizon() {
+        Long allocated = jdbcTemplate.queryForObject(ALLOCATED_SQL, new MapSqlParameterSource(), Long.class);
+        settledModSeq = sampledModSeq;
+        sampledModSeq = allocated == null ? 0 : allocated;
+    }
+
+    @Scheduled(fixedDelayString = "${partyn.sync.purge-interval-ms:3600000}")
+    public void purgeTombstones() {
+        int purged = purge(LocalDateTime.now().minus(tombstoneRetention));
+        if (purged > 0) {
+            logger.info("Purged {} event tombstones older than {}", purged, tombstoneRetention);
+        }
+    }
+
+    /**
+     * Deletes the tombstones written before {@code cutoff} and records the newest purged position.
+     * Returns the number of tombstones deleted.
+     */
+    public int purge(LocalDateTime cutoff) {
+        Integer purged = transactionTemplate.execute(status -> {
+            Long modSeq = jdbcTemplate.queryForObject(PURGEABLE_SQL,
+                    new MapSqlParameterSource("cutoff", cutoff), Long.class);
+            if (modSeq == null) {
+                return 0;
+            }
+            MapSqlParameterSource params = new MapSqlParameterSource("modSeq", modSeq);
+            int deleted = jdbcTemplate.update(PURGE_SQL, params);
+            if (jdbcTemplate.update(RECORD_PURGE_SQL, params) == 0) {
+                jdbcTemplate.update(CREATE_HORIZON_SQL, params);
+                jdbcTemplate.update(RECORD_PURGE_SQL, params);
+            }
+            return deleted;
+        });
+        return purged == null ? 0 : purged;
+    }
+
+    private long purgedModSeq() {
+        List<Long> purged = jdbcTemplate.queryForList(PURGED_SQL, new MapSqlParameterSource(), Long.class);
+        return purged.isEmpty() ? 0 : purged.get(0);
+    }
+}
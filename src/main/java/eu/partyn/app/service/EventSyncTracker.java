@@ -0,0 +1,145 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Stamps every changed event with its position in the sync order read by {@link EventSyncService}.
+ *
+ * <p>Just before a transaction with event changes commits, it sets {@code event.mod_seq} of
+ * created, updated and liked events to the next value of the {@code event_mod_seq} sequence, and
+ * writes an {@code event_tombstone} at the next value for deleted ones. Sequence values are handed
+ * out without locks, so concurrent writers never wait for each other; they may commit out of order,
+ * which {@link EventSyncService} absorbs by reading only positions allocated a while ago. Pending
+ * JPA changes are flushed first, so events saved in the same transaction already have their rows.
+ *
+ * <p>Events from before sync tracking have {@code mod_seq} 0; when the application is ready they
+ * are stamped in batches, so every event has its own position. Delta sync stays unavailable until
+ * that backfill has finished, since a client could otherwise page past events still at 0.
+ */
+@Component
+public class EventSyncTracker extends CommitBatchingChangeListener {
+    private static final Logger logger = LoggerFactory.getLogger(EventSyncTracker.class);
+    private static final String CREATE_SEQUENCE_SQL = "CREATE SEQUENCE IF NOT EXISTS event_mod_seq";
+    private static final String BACKFILL_SQL = """
+            UPDATE event SET mod_seq = nextval('event_mod_seq')
+            WHERE id IN (SELECT id FROM event WHERE mod_seq = 0 ORDER BY id LIMIT ?)""";
+    private static final String STAMP_SQL = "UPDATE event SET mod_seq = nextval('event_mod_seq') WHERE id = ?";
+    private static final String UPDATE_TOMBSTONE_SQL =
+            "UPDATE event_tombstone SET mod_seq = nextval('event_mod_seq'), deleted_at = ? WHERE event_id = ?";
+    private static final String INSERT_TOMBSTONE_SQL =
+            "INSERT INTO event_tombstone (mod_seq, deleted_at, event_id) VALUES (nextval('event_mod_seq'), ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+    private final int backfillBatchSize;
+    private volatile boolean backfilled;
+
+    public EventSyncTracker(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                            @Value("${partyn.sync.backfill-batch-size:1000}") int backfillBatchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+        this.backfillBatchSize = backfillBatchSize;
+    }
+
+    /**
+     * The schema is generated from the entities, which do not declare this sequence.
+     */
+    @PostConstruct
+    public void createSequence() {
+        jdbcTemplate.execute(CREATE_SEQUENCE_SQL);
+    }
+
+    @EventListener
+    public void onEventChange(EventChange change) {
+        collect(change);
+    }
+
+    /**
+     * Whether every event has a sync position, i.e. the backfill has finished on this instance.
+     */
+    public boolean isBackfilled() {
+        return backfilled;
+    }
+
+    /**
+     * Stamps events that were never changed since sync tracking was added, one batch per transaction.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int total = 0;
+        int stamped;
+        do {
+            Integer batch = transactionTemplate.execute(status -> jdbcTemplate.update(BACKFILL_SQL, backfillBatchSize));
+            stamped = batch == null ? 0 : batch;
+            total += stamped;
+        } while (stamped == backfillBatchSize);
+        backfilled = true;
+        if (total > 0) {
+            logger.info("Stamped {} events with a sync position", total);
+        }
+    }
+
+    @Override
+    protected void write(List<EventChange> changes) {
+        flushEntityManager();
+        Set<Integer> changed = new LinkedHashSet<>();
+        Set<Integer> deleted = new LinkedHashSet<>();
+        for (EventChange change : changes) {
+            if (change.type() == EventChange.Type.DELETED) {
+                changed.remove(change.eventId());
+                deleted.add(change.eventId());
+            } else {
+                changed.add(change.eventId());
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            jdbcTemplate.batchUpdate(STAMP_SQL, changed.stream().map(eventId -> new Object[]{eventId}).toList());
+        }
+        if (!deleted.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            List<Object[]> tombstones = deleted.stream().map(eventId -> new Object[]{now, eventId}).toList();
+            int[] updated = jdbcTemplate.batchUpdate(UPDATE_TOMBSTONE_SQL, tombstones);
+            List<Object[]> inserts = new ArrayList<>();
+            for (int i = 0; i < tombstones.size(); i++) {
+                if (updated[i] == 0) {
+                    inserts.add(tombstones.get(i));
+                }
+            }
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_TOMBSTONE_SQL, inserts);
+            }
+        }
+    }
+
+    private void flushEntityManager() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory != null && TransactionSynchronizationManager.getResource(factory) instanceof EntityManagerHolder holder) {
+            holder.getEntityManager().flush();
+        }
+    }
+}
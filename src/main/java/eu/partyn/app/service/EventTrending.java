@@ -0,0 +1,312 @@
+package eu.partyn.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventStatus;
+import eu.partyn.app.repository.EventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ranks listed events by time-decayed popularity.
+ *
+ * <p>Scores use forward decay: a like or view at time {@code t} adds {@code w * exp(λ(t - L))} for a
+ * fixed landmark {@code L}, with {@code λ = ln 2 / half-life}. Dividing every score by the same
+ * {@code exp(λ(now - L))} gives the usual exponentially decayed popularity, so the order never has to
+ * be recomputed as time passes and a score only changes when its own event is liked or viewed. Scores
+ * are kept as logarithms so they cannot overflow.
+ *
+ * <p>Recording takes no shared lock: a score is updated inside its own {@link ConcurrentHashMap} bin,
+ * and if it reaches the weakest published score the event is queued as a candidate. Since scores only
+ * grow, no other event can enter the top. The best {@code size} events are kept in a sorted set that
+ * only {@link #publish()} touches, once per publish interval: it merges the queued candidates at
+ * their current scores, trims the set and publishes the ranking as an immutable list, so reads are a
+ * field read no matter how much like traffic there is. Unlikes do not lower a score.
+ *
+ * <p>A view counts once per viewer and event within {@code view-dedupe-window}, so reloading a page
+ * cannot push an event up.
+ *
+ * <p>Scores are written to {@code event.trending_score} on a schedule and read back when the
+ * application is ready, streaming only the columns needed; events without a stored score start from
+ * their like count, taken as one half-life old.
+ */
+@Component
+public class EventTrending {
+    private static final Logger logger = LoggerFactory.getLogger(EventTrending.class);
+    static final Instant LANDMARK = Instant.parse("2024-01-01T00:00:00Z");
+    private static final String FLUSH_SQL = "UPDATE event SET trending_score = ? WHERE id = ?";
+    private static final String REBUILD_SQL = "SELECT id, status, likes, trending_score FROM event";
+    private static final int REBUILD_FETCH_SIZE = 1000;
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::logScore).reversed()
+            .thenComparing(Entry::eventId);
+
+    private final EventRepository eventRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final int size;
+    private final double lambdaPerSecond;
+    private final double logViewWeight;
+    private final Cache<String, Boolean> recentViews;
+
+    private final Set<Integer> listed = ConcurrentHashMap.newKeySet();
+    private final Map<Integer, Double> scores = new ConcurrentHashMap<>();
+    private final Set<Integer> candidates = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> dirty = ConcurrentHashMap.newKeySet();
+    private volatile double threshold = Double.NEGATIVE_INFINITY;
+    private volatile List<Integer> ranking = List.of();
+
+    /**
+     * Only touched by {@link #publish()} and {@link #rebuild()}, under the instance lock.
+     */
+    private final TreeSet<Entry> top = new TreeSet<>(RANKING);
+    private final Map<Integer, Double> topScores = new HashMap<>();
+
+    record Entry(Integer eventId, double logScore) {
+    }
+
+    public EventTrending(EventRepository eventRepository,
+                         JdbcTemplate jdbcTemplate,
+                         TransactionTemplate transactionTemplate,
+                         @Value("${partyn.trending.size:100}") int size,
+                         @Value("${partyn.trending.half-life:6h}") Duration halfLife,
+                         @Value("${partyn.trending.view-weight:0.1}") double viewWeight,
+                         @Value("${partyn.trending.view-dedupe-window:30m}") Duration viewDedupeWindow,
+                         @Value("${partyn.trending.view-dedupe-max-size:1000000}") long viewDedupeMaxSize) {
+        this.eventRepository = eventRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        // PostgreSQL only streams through a cursor with a fetch size inside a transaction.
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.size = size;
+        this.lambdaPerSecond = Math.log(2) / halfLife.toSeconds();
+        this.logViewWeight = Math.log(viewWeight);
+        this.recentViews = Caffeine.newBuilder()
+                .expireAfterWrite(viewDedupeWindow)
+                .maximumSize(viewDedupeMaxSize)
+                .build();
+    }
+
+    /**
+     * The ids of up to {@code limit} trending events, hottest first, as of the last publish.
+     */
+    public List<Integer> trending(int limit) {
+        List<Integer> current = ranking;
+        return current.size() > limit ? current.subList(0, limit) : current;
+    }
+
+    public void recordLike(Integer eventId) {
+        record(eventId, 0, Instant.now());
+    }
+
+    /**
+     * Counts a view of the event by {@code viewer}, e.g. the client address, unless the same viewer
+     * already viewed it within the dedupe window.
+     */
+    public void recordView(Integer eventId, String viewer) {
+        if (recentViews.asMap().putIfAbsent(viewer + "/" + eventId, Boolean.TRUE) == null) {
+            record(eventId, logViewWeight, Instant.now());
+        }
+    }
+
+    /**
+     * Adds {@code exp(logWeight)} at time {@code at} to the event's score. Ignored for events that are
+     * not listed.
+     */
+    public void record(Integer eventId, double logWeight, Instant at) {
+        if (!listed.contains(eventId)) {
+            return;
+        }
+        double increment = logWeight + decayExponent(at);
+        double logScore = scores.merge(eventId, increment, EventTrending::logAddExp);
+        dirty.add(eventId);
+        if (logScore >= threshold) {
+            candidates.add(eventId);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Set<Integer> listedEvents = new HashSet<>();
+        Map<Integer, Double> storedScores = new HashMap<>();
+        Instant seededAt = Instant.now().minusSeconds(Math.round(Math.log(2) / lambdaPerSecond));
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(REBUILD_SQL);
+            statement.setFetchSize(REBUILD_FETCH_SIZE);
+            return statement;
+        }, (ResultSet rs) -> {
+            String status = rs.getString("status");
+            if (status == null || EventStatus.valueOf(status).isListed()) {
+                int eventId = rs.getInt("id");
+                listedEvents.add(eventId);
+                Double logScore = storedScore(rs.getInt("likes"), (Number) rs.getObject("trending_score"), seededAt);
+                if (logScore != null) {
+                    storedScores.put(eventId, logScore);
+                }
+            }
+        }));
+        synchronized (this) {
+            listed.clear();
+            listed.addAll(listedEvents);
+            scores.clear();
+            scores.putAll(storedScores);
+            candidates.clear();
+            top.clear();
+            topScores.clear();
+            storedScores.forEach((eventId, logScore) -> offer(new Entry(eventId, logScore)));
+            threshold = Double.NEGATIVE_INFINITY;
+        }
+        publish();
+        logger.info("Trending ranking built from {} listed events, {} with a score", listed.size(), scores.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChange(EventChange change) {
+        switch (change.type()) {
+            case CREATED, UPDATED -> eventRepository.findById(change.eventId())
+                    .filter(Event::isListed)
+                    .ifPresentOrElse(event -> listed.add(event.getId()), () -> remove(change.eventId()));
+            case DELETED -> remove(change.eventId());
+            case LIKED -> { }
+        }
+    }
+
+    /**
+     * Merges the queued candidates into the top at their current scores and makes the ranking visible
+     * to {@link #trending(int)} if it changed since the last call.
+     */
+    @Scheduled(fixedDelayString = "${partyn.trending.publish-interval-ms:1000}")
+    public synchronized void publish() {
+        boolean changed = false;
+        List<Integer> drained = List.copyOf(candidates);
+        candidates.removeAll(drained);
+        // Take every candidate out first so a slot freed by a removal is open to all of them.
+        for (Integer eventId : drained) {
+            Double previous = topScores.remove(eventId);
+            if (previous != null) {
+                top.remove(new Entry(eventId, previous));
+                changed = true;
+            }
+        }
+        for (Integer eventId : drained) {
+            Double logScore = scores.get(eventId);
+            if (logScore != null && listed.contains(eventId)) {
+                changed |= offer(new Entry(eventId, logScore));
+            }
+        }
+        threshold = top.size() < size ? Double.NEGATIVE_INFINITY : top.last().logScore();
+        if (changed || ranking.size() != top.size()) {
+            ranking = top.stream().map(Entry::eventId).toList();
+        }
+    }
+
+    /**
+     * Writes the scores changed since the last flush in one JDBC batch. Failed writes are retried on
+     * the next flush.
+     */
+    @Scheduled(fixedDelayString = "${partyn.trending.flush-interval-ms:10000}")
+    public void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        for (Integer eventId : List.copyOf(dirty)) {
+            dirty.remove(eventId);
+            Double logScore = scores.get(eventId);
+            if (logScore != null) {
+                batch.add(new Object[]{logScore, eventId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            logger.debug("Flushed trending scores for {} events", batch.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush trending scores for {} events, retrying on next flush", batch.size(), e);
+            batch.forEach(row -> dirty.add((Integer) row[1]));
+        }
+    }
+
+    /**
+     * Drops an event that is gone or no longer listed. If it was ranked, the best unranked event is
+     * queued to take its place on the next publish; finding it scans the scores without blocking
+     * recording, which is fine for deletions and status changes.
+     */
+    private void remove(Integer eventId) {
+        listed.remove(eventId);
+        dirty.remove(eventId);
+        scores.remove(eventId);
+        List<Integer> ranked = ranking;
+        if (!ranked.contains(eventId)) {
+            return;
+        }
+        Set<Integer> rankedIds = Set.copyOf(ranked);
+        candidates.add(eventId);
+        threshold = Double.NEGATIVE_INFINITY;
+        scores.entrySet().stream()
+                .filter(score -> !rankedIds.contains(score.getKey()))
+                .map(score -> new Entry(score.getKey(), score.getValue()))
+                .min(RANKING)
+                .ifPresent(entry -> candidates.add(entry.eventId()));
+    }
+
+    /**
+     * Adds the entry if there is room or it beats the weakest one. Returns whether the top changed.
+     */
+    private boolean offer(Entry entry) {
+        if (top.size() < size) {
+            top.add(entry);
+            topScores.put(entry.eventId(), entry.logScore());
+            return true;
+        }
+        if (RANKING.compare(entry, top.last()) < 0) {
+            Entry weakest = top.pollLast();
+            topScores.remove(weakest.eventId());
+            top.add(entry);
+            topScores.put(entry.eventId(), entry.logScore());
+            return true;
+        }
+        return false;
+    }
+
+    private Double storedScore(int likes, Number trendingScore, Instant seededAt) {
+        if (trendingScore != null) {
+            return trendingScore.doubleValue();
+        }
+        return likes > 0 ? Math.log(likes) + decayExponent(seededAt) : null;
+    }
+
+    private double decayExponent(Instant at) {
+        return lambdaPerSecond * Duration.between(LANDMARK, at).toMillis() / 1000.0;
+    }
+
+    /**
+     * {@code log(exp(a) + exp(b))} without leaving log space.
+     */
+    private static double logAddExp(double a, double b) {
+        double max = Math.max(a, b);
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+}
@@ -1,15 +1,128 @@
 package eu.partyn.app.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.firebase.FirebaseApp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseToken;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Verifies Firebase ID tokens.
+ *
+ * <p>{@link FirebaseAuth#verifyIdToken(String)} checks the RS256 signature locally against Google's
+ * public signing certificates, which the Admin SDK downloads once and keeps for as long as their
+ * {@code Cache-Control} header allows; revocation is not checked, so no per-call round trip is made.
+ * On top of that, decoded tokens are cached under the SHA-256 of the raw token until the token's own
+ * {@code exp}, so a client repeating the same token skips parsing and signature verification entirely.
+ */
 @Service
 public class FirebaseService {
 
+    private final Cache<String, FirebaseToken> tokenCache;
+    private final ObjectProvider<FirebaseApp> firebaseApp;
+
+    public FirebaseService(MeterRegistry meterRegistry,
+                           @Value("${partyn.auth.token-cache.max-size:10000}") long maxSize,
+                           ObjectProvider<FirebaseApp> firebaseApp) {
+        this.firebaseApp = firebaseApp;
+        this.tokenCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokenCache, "firebaseTokens");
+    }
+
+    @Timed(value = "partyn.firebase.authenticate", histogram = true)
     public FirebaseToken authenticate(String idToken) throws Exception {
-        FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(idToken);
+        String key = hash(idToken);
+        FirebaseToken cached = tokenCache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        FirebaseToken decodedToken = firebaseAuth().verifyIdToken(idToken);
+        if (secondsUntilExpiry(decodedToken) > 0) {
+            tokenCache.put(key, decodedToken);
+        }
         return decodedToken;
     }
 
+    /**
+     * Identifies the caller of {@code idToken} without verifying it: the UID if the token was
+     * verified before and is still cached, otherwise a digest of the token itself. Meant for rate
+     * limiting ahead of authentication, where an unverified claim could be forged to throttle
+     * someone else.
+     */
+    public String callerKey(String idToken) {
+        try {
+            String key = hash(idToken);
+            FirebaseToken cached = tokenCache.getIfPresent(key);
+            return cached != null ? "uid:" + cached.getUid() : "token:" + key;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * The default Firebase app is initialized here, on the first token that misses the cache, so
+     * startup never waits for credentials.
+     */
+    private FirebaseAuth firebaseAuth() {
+        firebaseApp.getObject();
+        return FirebaseAuth.getInstance();
+    }
+
+    public CacheStats tokenCacheStats() {
+        return tokenCache.stats();
+    }
+
+    private static String hash(String idToken) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(idToken.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static long secondsUntilExpiry(FirebaseToken token) {
+        Object exp = token.getClaims().get("exp");
+        if (!(exp instanceof Number expiresAt)) {
+            return 0;
+        }
+        return expiresAt.longValue() - Instant.now().getEpochSecond();
+    }
+
+    /**
+     * Evicts every entry at the {@code exp} of the token it holds.
+     */
+    private static final class TokenExpiry implements Expiry<String, FirebaseToken> {
+
+        @Override
+        public long expireAfterCreate(String key, FirebaseToken token, long currentTime) {
+            return Duration.ofSeconds(Math.max(0, secondsUntilExpiry(token))).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, FirebaseToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, FirebaseToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
 }
@@ -0,0 +1,200 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.ImageVariants;
+import eu.partyn.app.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Turns an uploaded poster into a fixed set of JPEG renditions.
+ *
+ * <p>Blobs live under {@code events/<sha256 of the upload>/}, so uploading the same image again,
+ * e.g. on every event update, finds the existing renditions and skips decoding and storage writes.
+ * The original is decoded once and each variant is scaled down from it, never up. The smaller
+ * variants are written on virtual threads while the full rendition is still being encoded; the full
+ * rendition is written last because it marks the set as complete.
+ *
+ * <p>The dimensions are read from the header before anything is decoded, and images with more than
+ * {@code partyn.image.max-pixels} pixels are rejected: a small, highly compressed upload can otherwise
+ * declare a bitmap large enough to exhaust the heap.
+ */
+@Service
+public class ImagePipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ImagePipeline.class);
+    private static final String CONTENT_TYPE = "image/jpeg";
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final BlobStore blobStore;
+    private final long maxPixels;
+
+    public ImagePipeline(BlobStore blobStore,
+                         @Value("${partyn.image.max-pixels:40000000}") long maxPixels) {
+        this.blobStore = blobStore;
+        this.maxPixels = maxPixels;
+    }
+
+    public enum Variant {
+        THUMBNAIL(320),
+        CARD(800),
+        FULL(1600);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int maxWidth() {
+            return maxWidth;
+        }
+
+        String fileName() {
+            return name().toLowerCase() + ".jpg";
+        }
+    }
+
+    public ImageVariants store(byte[] original) throws IOException {
+        String prefix = "events/" + sha256(original) + "/";
+        ImageVariants variants = new ImageVariants(
+                blobStore.publicUrl(prefix + Variant.THUMBNAIL.fileName()),
+                blobStore.publicUrl(prefix + Variant.CARD.fileName()),
+                blobStore.publicUrl(prefix + Variant.FULL.fileName()));
+
+        // FULL is written last, so its presence means the whole set is stored.
+        if (blobStore.exists(prefix + Variant.FULL.fileName())) {
+            logger.info("Image {} already stored, reusing variants", prefix);
+            return variants;
+        }
+
+        BufferedImage image = decode(original);
+        try (ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Void>> writes = new ArrayList<>();
+            for (Variant variant : Variant.values()) {
+                if (variant == Variant.FULL) {
+                    continue;
+                }
+                byte[] encoded = encodeJpeg(scaleToWidth(image, variant.maxWidth()));
+                writes.add(writers.submit(() -> {
+                    blobStore.put(prefix + variant.fileName(), encoded, CONTENT_TYPE);
+                    return null;
+                }));
+            }
+            byte[] full = encodeJpeg(scaleToWidth(image, Variant.FULL.maxWidth()));
+            for (Future<Void> write : writes) {
+                write.get();
+            }
+            blobStore.put(prefix + Variant.FULL.fileName(), full, CONTENT_TYPE);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while storing image variants", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to store image variants", e.getCause());
+        }
+        logger.info("Stored image variants under {}", prefix);
+        return variants;
+    }
+
+    private BufferedImage decode(byte[] original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = input == null ? null : ImageIO.getImageReaders(input);
+            if (readers == null || !readers.hasNext()) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IllegalArgumentException("Image has " + pixels + " pixels, at most " + maxPixels + " are allowed");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales down in halving steps before the final bilinear pass, which keeps large reductions
+     * sharp without the cost of bicubic filtering on the full-size image.
+     */
+    private static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, Math.round(source.getHeight() * (targetWidth / (float) source.getWidth())));
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, width, height);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.Invalidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers invalidations to the subscribers in this JVM, on the publishing thread. The default for
+ * single-instance deployments and tests, where several nodes can share one bus.
+ */
+@Component
+@ConditionalOnProperty(name = "partyn.invalidation.bus", havingValue = "in-jvm", matchIfMissing = true)
+public class InJvmInvalidationBus implements InvalidationBus {
+    private static final Logger logger = LoggerFactory.getLogger(InJvmInvalidationBus.class);
+
+    private final List<Consumer<Invalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        for (Consumer<Invalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                logger.error("Invalidation subscriber failed on {}", invalidation, e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+}
@@ -0,0 +1,24 @@
+package eu.partyn.app.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random id of this running instance, stamped on outbox records and invalidation messages so an
+ * instance can recognise its own changes when they come back from the bus.
+ */
+@Component
+public class InstanceId {
+
+    private final String value = UUID.randomUUID().toString();
+
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.Invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts {@link Invalidation}s to every instance of the application, including the sender.
+ *
+ * <p>Delivery is best effort: messages may arrive late, twice or not at all while an instance is
+ * disconnected. Receivers therefore treat a message as a hint to reload, never as state.
+ */
+public interface InvalidationBus {
+
+    void publish(Invalidation invalidation);
+
+    /**
+     * Registers {@code subscriber} for messages published from now on, on any instance.
+     */
+    void subscribe(Consumer<Invalidation> subscriber);
+}
@@ -0,0 +1,138 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Absorbs likes in memory and writes them behind to the database.
+ *
+ * <p>Each event id owns a {@link LongAdder}, so concurrent likes on the same event never block each
+ * other. A scheduled flush drains the adders and applies the coalesced deltas as one JDBC batch of
+ * atomic {@code likes = likes + ?} updates; no row is read back and no increment is lost to a racing
+ * read-modify-write. Deltas that are being written are kept in {@code inFlight} until the batch
+ * returns, so {@link #pending(Integer)} stays accurate while a flush is running. An adder that stays
+ * at zero for a whole interval is removed, so the map only holds recently liked events; a like that
+ * lands on an adder as it is removed is moved to its replacement. Every flushed id is
+ * announced as an {@link EventChange#liked(Integer, Integer)} change in the transaction that applies
+ * its delta, carrying the stored total read back in one query for the whole batch.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeCounter {
+    private static final Logger logger = LoggerFactory.getLogger(LikeCounter.class);
+    private static final String FLUSH_SQL = "UPDATE event SET likes = COALESCE(likes, 0) + ? WHERE id = ?";
+    private static final String TOTALS_SQL = "SELECT id, likes FROM event WHERE id = ANY (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> inFlight = new ConcurrentHashMap<>();
+
+    public void increment(Integer eventId) {
+        add(eventId, 1);
+    }
+
+    public void decrement(Integer eventId) {
+        add(eventId, -1);
+    }
+
+    private void add(Integer eventId, long delta) {
+        LongAdder adder = pending.get(eventId);
+        if (adder == null) {
+            adder = pending.computeIfAbsent(eventId, id -> new LongAdder());
+        }
+        adder.add(delta);
+        if (pending.get(eventId) != adder) {
+            // The flush retired this adder after we looked it up; move what it still holds.
+            reclaim(eventId, adder);
+        }
+    }
+
+    private void reclaim(Integer eventId, LongAdder retired) {
+        long late = retired.sumThenReset();
+        if (late != 0) {
+            add(eventId, late);
+        }
+    }
+
+    /**
+     * Likes accepted for {@code eventId} that the database does not reflect yet.
+     */
+    public int pending(Integer eventId) {
+        LongAdder adder = pending.get(eventId);
+        long queued = adder == null ? 0 : adder.sum();
+        return (int) (queued + inFlight.getOrDefault(eventId, 0L));
+    }
+
+    @Scheduled(fixedDelayString = "${partyn.likes.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((eventId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                inFlight.put(eventId, delta);
+                batch.add(new Object[]{delta, eventId});
+            } else if (pending.remove(eventId, adder)) {
+                // Idle for a whole interval: drop the adder, keeping any like that raced the removal.
+                reclaim(eventId, adder);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+                Map<Integer, Integer> totals = totals(batch);
+                for (Object[] row : batch) {
+                    Integer eventId = (Integer) row[1];
+                    eventPublisher.publishEvent(EventChange.liked(eventId, totals.get(eventId)));
+                }
+            });
+            logger.debug("Flushed like deltas for {} events", batch.size());
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush like deltas for {} events, retrying on next flush", batch.size(), e);
+            for (Object[] row : batch) {
+                add((Integer) row[1], (Long) row[0]);
+            }
+        } finally {
+            for (Object[] row : batch) {
+                inFlight.remove((Integer) row[1]);
+            }
+        }
+    }
+
+    private Map<Integer, Integer> totals(List<Object[]> batch) {
+        Integer[] ids = batch.stream().map(row -> (Integer) row[1]).toArray(Integer[]::new);
+        Map<Integer, Integer> totals = new HashMap<>();
+        jdbcTemplate.query(TOTALS_SQL,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("integer", ids)),
+                rs -> {
+                    totals.put(rs.getInt("id"), rs.getInt("likes"));
+                });
+        return totals;
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        logger.info("Flushing pending likes before shutdown");
+        flush();
+    }
+}
@@ -0,0 +1,112 @@
+package eu.partyn.app.service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.OutboxRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains {@code event_outbox} into the registered {@link EventChangeConsumer}s.
+ *
+ * <p>Each batch is claimed, delivered and deleted in one transaction. Claiming locks the oldest
+ * rows with {@code FOR UPDATE SKIP LOCKED}, so relays on several instances take disjoint batches
+ * instead of waiting for each other. A consumer that throws rolls the batch back; its rows become
+ * claimable again and are redelivered to every consumer on a later run, so delivery is at least
+ * once. Runs continue until a batch comes back short.
+ *
+ * <p>{@code partyn.outbox.relay.delivered} counts delivered records and
+ * {@code partyn.outbox.relay.lag} times how long they waited between commit and delivery.
+ */
+@Service
+@ConditionalOnProperty(name = "partyn.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String CLAIM_SQL = """
+            SELECT id, event_id, type, created_at, origin FROM event_outbox
+            ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED""";
+    private static final String DELETE_SQL = "DELETE FROM event_outbox WHERE id IN (:ids)";
+    private static final RowMapper<OutboxRecord> RECORD_MAPPER = (rs, rowNum) -> OutboxRecord.builder()
+            .id(rs.getLong("id"))
+            .eventId(rs.getInt("event_id"))
+            .type(EventChange.Type.valueOf(rs.getString("type")))
+            .createdAt(rs.getTimestamp("created_at").toLocalDateTime())
+            .origin(rs.getString("origin"))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<EventChangeConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+    private final Timer lag;
+    private final int batchSize;
+
+    public OutboxRelay(NamedParameterJdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate,
+                       List<EventChangeConsumer> consumers,
+                       MeterRegistry meterRegistry,
+                       @Value("${partyn.outbox.relay.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.consumers = consumers;
+        this.meterRegistry = meterRegistry;
+        this.lag = Timer.builder("partyn.outbox.relay.lag")
+                .description("Time from commit of an event change to its delivery")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Delivers everything committed so far. Returns the number of records delivered.
+     */
+    @Scheduled(fixedDelayString = "${partyn.outbox.relay.interval-ms:500}")
+    public int relay() {
+        MapSqlParameterSource claim = new MapSqlParameterSource("limit", batchSize);
+        int total = 0;
+        int claimed;
+        try {
+            do {
+                List<OutboxRecord> delivered = transactionTemplate.execute(status -> {
+                    List<OutboxRecord> records = jdbcTemplate.query(CLAIM_SQL, claim, RECORD_MAPPER);
+                    if (records.isEmpty()) {
+                        return records;
+                    }
+                    consumers.forEach(consumer -> consumer.accept(records));
+                    jdbcTemplate.update(DELETE_SQL, new MapSqlParameterSource("ids",
+                            records.stream().map(OutboxRecord::getId).toList()));
+                    return records;
+                });
+                claimed = delivered == null ? 0 : delivered.size();
+                if (claimed > 0) {
+                    recordLag(delivered);
+                }
+                total += claimed;
+            } while (claimed == batchSize);
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay failed after {} records, retrying on next run", total, e);
+        }
+        meterRegistry.counter("partyn.outbox.relay.delivered").increment(total);
+        return total;
+    }
+
+    private void recordLag(List<OutboxRecord> records) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxRecord record : records) {
+            lag.record(Duration.between(record.getCreatedAt(), now));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package eu.partyn.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keyed token-bucket rate limiter.
+ *
+ * <p>Each bucket is a single {@link AtomicLong} holding its theoretical arrival time (the generic
+ * cell rate algorithm): admitting a request moves it forward by one emission interval with a CAS,
+ * and a request is refused when that would put it more than {@code burst} intervals ahead of now.
+ * That is equivalent to a bucket of {@code burst} tokens refilled at {@code ratePerSecond}, without
+ * locks or a refill thread.
+ *
+ * <p>Buckets live in a bounded Caffeine cache and are dropped after {@code idleTimeout} without
+ * requests; an idle bucket would be full again anyway as long as the timeout covers one burst.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final Ticker ticker;
+    private final Cache<String, AtomicLong> buckets;
+    private final Counter admitted;
+    private final Counter rejected;
+
+    public TokenBucketLimiter(String name, double ratePerSecond, int burst, Duration idleTimeout, long maxKeys,
+                              MeterRegistry meterRegistry, Ticker ticker) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .ticker(ticker)
+                .build();
+        this.admitted = meterRegistry.counter("partyn.ratelimit.requests", "limiter", name, "outcome", "admitted");
+        this.rejected = meterRegistry.counter("partyn.ratelimit.requests", "limiter", name, "outcome", "rejected");
+        meterRegistry.gauge("partyn.ratelimit.keys", Tags.of("limiter", name),
+                buckets, cache -> cache.estimatedSize());
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns 0 if the request is admitted, otherwise the nanoseconds
+     * until the next token becomes available.
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = ticker.read();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                admitted.increment();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Returns a token taken by {@link #tryAcquire} for {@code key}, e.g. when a later check rejects
+     * the request it was taken for.
+     */
+    public void refund(String key) {
+        AtomicLong arrival = buckets.getIfPresent(key);
+        if (arrival != null) {
+            arrival.addAndGet(-emissionIntervalNanos);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package eu.partyn.app.storage;
+
+import java.io.IOException;
+
+/**
+ * Minimal object store used for event images. Blob names are content-addressed by the caller, so an
+ * existing blob never needs to be overwritten.
+ */
+public interface BlobStore {
+
+    boolean exists(String name);
+
+    void put(String name, byte[] content, String contentType) throws IOException;
+
+    String publicUrl(String name);
+}
@@ -0,0 +1,48 @@
+package eu.partyn.app.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Local stand-in for the Cloud Storage bucket, used in development, tests and load tests. The files
+ * are served by {@link eu.partyn.app.config.LocalBlobConfig}, so {@code local-base-url} must point at
+ * this application's {@code /blobs} path.
+ */
+@Component
+@ConditionalOnProperty(name = "partyn.storage.type", havingValue = "filesystem")
+public class FileSystemBlobStore implements BlobStore {
+
+    private final Path root;
+    private final String baseUrl;
+
+    public FileSystemBlobStore(@Value("${partyn.storage.local-dir:build/blobs}") Path root,
+                               @Value("${partyn.storage.local-base-url:http://localhost:8080/blobs}") String baseUrl) {
+        this.root = root;
+        this.baseUrl = baseUrl;
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return Files.exists(root.resolve(name));
+    }
+
+    @Override
+    public void put(String name, byte[] content, String contentType) throws IOException {
+        Path target = root.resolve(name);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), ".upload", null);
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public String publicUrl(String name) {
+        return baseUrl + "/" + name;
+    }
+}
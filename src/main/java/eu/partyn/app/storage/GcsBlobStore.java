@@ -0,0 +1,64 @@
+package eu.partyn.app.storage;
+
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Images in the Cloud Storage bucket. The client is injected as a lazy proxy, so it is only created
+ * by the first upload or lookup.
+ */
+@Component
+@ConditionalOnProperty(name = "partyn.storage.type", havingValue = "gcs", matchIfMissing = true)
+public class GcsBlobStore implements BlobStore {
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private final Storage storage;
+    private final String bucket;
+    private final Timer getTimer;
+    private final Timer createTimer;
+
+    public GcsBlobStore(@Lazy Storage storage,
+                        MeterRegistry meterRegistry,
+                        @Value("${partyn.storage.bucket:partyn-79f01.appspot.com}") String bucket) {
+        this.storage = storage;
+        this.bucket = bucket;
+        this.getTimer = storageTimer(meterRegistry, "get");
+        this.createTimer = storageTimer(meterRegistry, "create");
+    }
+
+    @Override
+    public boolean exists(String name) {
+        return getTimer.record(() -> storage.get(BlobId.of(bucket, name))) != null;
+    }
+
+    @Override
+    public void put(String name, byte[] content, String contentType) {
+        BlobId blobId = BlobId.of(bucket, name);
+        BlobInfo blobInfo = BlobInfo.newBuilder(blobId)
+                .setContentType(contentType)
+                .setCacheControl(IMMUTABLE_CACHE_CONTROL)
+                .build();
+        createTimer.record(() -> storage.create(blobInfo, content,
+                Storage.BlobTargetOption.predefinedAcl(Storage.PredefinedAcl.PUBLIC_READ)));
+    }
+
+    @Override
+    public String publicUrl(String name) {
+        return String.format("https://storage.googleapis.com/%s/%s", bucket, name);
+    }
+
+    private static Timer storageTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("partyn.storage")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,163 @@
+package eu.partyn.app.perf;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills the {@code event} table with synthetic but realistically shaped rows.
+ *
+ * <ul>
+ *     <li>Start times cluster on Thursday to Saturday nights between 20:00 and 23:30, over the next
+ *     {@value #HORIZON_DAYS} days, with a tail of past events.</li>
+ *     <li>Venues follow a Zipf distribution, so a few clubs host most events.</li>
+ *     <li>About a third of events are free; paid tickets are log-normal around 10 EUR.</li>
+ *     <li>Likes follow a Pareto distribution: most events have a handful, a few have thousands.</li>
+ * </ul>
+ *
+ * <p>The table must exist, i.e. the application has started against the database once. Standalone
+ * usage: {@code EventDatasetGenerator <jdbcUrl> <user> <password> <count>}.
+ */
+public class EventDatasetGenerator {
+
+    private static final int HORIZON_DAYS = 180;
+    private static final int BATCH_SIZE = 1_000;
+    private static final String INSERT_SQL = """
+            INSERT INTO event (id, name, date_time, end_date_time, ticket_price, description, location,
+                               latitude, longitude, top_pick, image_url, card_url, thumbnail_url, likes, version, status)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, 'PUBLISHED')""";
+
+    private static final String[] VENUES = {
+            "Genialistide Klubi", "Illegaard", "Shooters", "Vilde", "Pattern", "Naiiv", "Trikster",
+            "Möku", "Aparaaditehas", "Rüütli 11", "Club Tallinn", "Kassikakk", "Pub Big Ben", "Zavood",
+            "Barlova", "Erinevate Tubade Klubi", "Arhiiv", "Drink Bar", "Heldeke", "Club Studio"
+    };
+    /** Spread around Tallinn city centre, one per venue. */
+    private static final double[][] VENUE_COORDINATES = venueCoordinates();
+    private static final String[] GENRES = {"Techno", "House", "Drum & Bass", "Hip-Hop", "Indie", "Karaoke", "Jazz", "Disco"};
+    private static final String[] FORMATS = {"Night", "Showcase", "Session", "Party", "Marathon", "Rave"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+
+    public EventDatasetGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.err.println("Usage: EventDatasetGenerator <jdbcUrl> <user> <password> <count>");
+            System.exit(1);
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(args[0], args[1], args[2]));
+        new EventDatasetGenerator(jdbcTemplate, 42).generate(Integer.parseInt(args[3]));
+    }
+
+    /**
+     * Inserts {@code count} events with ids following the current maximum and moves the id sequence
+     * past them. Returns the id range as {@code [first, last]}.
+     */
+    public int[] generate(int count) {
+        Integer maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM event", Integer.class);
+        int firstId = maxId + 1;
+        LocalDate today = LocalDate.now();
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(row(firstId + i, today));
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+
+        int lastId = firstId + count - 1;
+        // Hibernate allocates ids from event_seq in blocks of 50; restart beyond everything inserted here.
+        jdbcTemplate.execute("ALTER SEQUENCE event_seq RESTART WITH " + (lastId + 51));
+        System.out.printf("Generated %d events with ids %d..%d%n", count, firstId, lastId);
+        return new int[]{firstId, lastId};
+    }
+
+    private Object[] row(int id, LocalDate today) {
+        LocalDateTime start = startTime(today);
+        int venueIndex = zipf(VENUES.length);
+        String venue = VENUES[venueIndex];
+        String name = GENRES[random.nextInt(GENRES.length)] + " " + FORMATS[random.nextInt(FORMATS.length)] + " #" + id;
+        String image = "https://storage.googleapis.com/partyn-loadtest/events/" + Integer.toHexString(id) + "/";
+        return new Object[]{
+                id,
+                name,
+                Timestamp.valueOf(start),
+                Timestamp.valueOf(start.plusMinutes(180 + random.nextInt(6) * 30L)),
+                ticketPrice(),
+                name + " at " + venue + ". " + "Doors open an hour before, cloakroom available. ".repeat(1 + random.nextInt(4)),
+                venue,
+                VENUE_COORDINATES[venueIndex][0],
+                VENUE_COORDINATES[venueIndex][1],
+                random.nextInt(20) == 0,
+                image + "full.jpg",
+                image + "card.jpg",
+                image + "thumbnail.jpg",
+                likes()
+        };
+    }
+
+    private static double[][] venueCoordinates() {
+        Random placement = new Random(7);
+        double[][] coordinates = new double[VENUES.length][];
+        for (int i = 0; i < VENUES.length; i++) {
+            coordinates[i] = new double[]{59.437 + placement.nextGaussian() * 0.02, 24.745 + placement.nextGaussian() * 0.04};
+        }
+        return coordinates;
+    }
+
+    private LocalDateTime startTime(LocalDate today) {
+        int offsetDays = random.nextInt(10) == 0 ? -random.nextInt(365) : random.nextInt(HORIZON_DAYS);
+        LocalDate date = today.plusDays(offsetDays);
+        if (random.nextInt(4) != 0) {
+            DayOfWeek night = DayOfWeek.of(4 + random.nextInt(3));
+            date = date.with(TemporalAdjusters.nextOrSame(night));
+        }
+        return date.atTime(20 + random.nextInt(4), random.nextBoolean() ? 0 : 30);
+    }
+
+    private int ticketPrice() {
+        if (random.nextInt(3) == 0) {
+            return 0;
+        }
+        return (int) Math.min(80, Math.round(Math.exp(Math.log(10) + 0.5 * random.nextGaussian())));
+    }
+
+    private int likes() {
+        double pareto = 1 / Math.pow(1 - random.nextDouble(), 1 / 1.2);
+        return (int) Math.min(50_000, Math.floor(pareto) - 1);
+    }
+
+    private int zipf(int size) {
+        double harmonic = 0;
+        for (int k = 1; k <= size; k++) {
+            harmonic += 1.0 / k;
+        }
+        double target = random.nextDouble() * harmonic;
+        double sum = 0;
+        for (int k = 1; k <= size; k++) {
+            sum += 1.0 / k;
+            if (sum >= target) {
+                return k - 1;
+            }
+        }
+        return size - 1;
+    }
+}
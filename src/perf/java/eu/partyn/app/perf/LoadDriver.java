@@ -0,0 +1,152 @@
+package eu.partyn.app.perf;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Open-model load driver: every endpoint is hit at a fixed arrival rate regardless of how fast the
+ * server answers. Latency is measured from the time a request was <em>scheduled</em>, not when it
+ * was sent, so a stalling server shows up in the percentiles instead of silently lowering the
+ * offered load (coordinated omission).
+ */
+public class LoadDriver {
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final int firstId;
+    private final int lastId;
+    private final List<Target> targets = new ArrayList<>();
+
+    public LoadDriver(URI baseUri, int firstId, int lastId) {
+        this.baseUri = baseUri;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public LoadDriver list(double ratePerSecond) {
+        return add("GET /events", ratePerSecond,
+                id -> HttpRequest.newBuilder(baseUri.resolve("/events?limit=50")).header("Accept-Encoding", "gzip").GET());
+    }
+
+    public LoadDriver detail(double ratePerSecond) {
+        return add("GET /events/{id}", ratePerSecond,
+                id -> HttpRequest.newBuilder(baseUri.resolve("/events/" + id)).GET());
+    }
+
+    public LoadDriver like(double ratePerSecond) {
+        return add("POST /events/{id}/like", ratePerSecond,
+                id -> HttpRequest.newBuilder(baseUri.resolve("/events/" + id + "/like"))
+                        .header("Authorization", "Bearer loadtest-" + ThreadLocalRandom.current().nextInt(100_000))
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private LoadDriver add(String name, double ratePerSecond, IntFunction<HttpRequest.Builder> request) {
+        if (ratePerSecond > 0) {
+            targets.add(new Target(name, ratePerSecond, request));
+        }
+        return this;
+    }
+
+    /**
+     * Drives all endpoints concurrently for {@code duration} and returns one result per endpoint.
+     */
+    public List<EndpointResult> run(Duration duration) throws InterruptedException {
+        List<Thread> schedulers = new ArrayList<>();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            for (Target target : targets) {
+                schedulers.add(Thread.ofPlatform().name("load-" + target.name).start(() -> target.drive(requests, start, end)));
+            }
+            for (Thread scheduler : schedulers) {
+                scheduler.join();
+            }
+            requests.shutdown();
+            requests.awaitTermination(30, TimeUnit.SECONDS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return targets.stream()
+                    .map(target -> new EndpointResult(target.name, target.recorder.getIntervalHistogram(), target.errors.get(), seconds))
+                    .toList();
+        }
+    }
+
+    /**
+     * Skews ids so that roughly 20% of events receive 80% of the traffic, like real popularity.
+     */
+    private int pickId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int span = lastId - firstId + 1;
+        int hotSpan = Math.max(1, span / 5);
+        return random.nextInt(10) < 8 ? firstId + random.nextInt(hotSpan) : firstId + random.nextInt(span);
+    }
+
+    private final class Target {
+        final String name;
+        final long intervalNanos;
+        final IntFunction<HttpRequest.Builder> request;
+        final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+        final AtomicLong errors = new AtomicLong();
+
+        Target(String name, double ratePerSecond, IntFunction<HttpRequest.Builder> request) {
+            this.name = name;
+            this.intervalNanos = (long) (1e9 / ratePerSecond);
+            this.request = request;
+        }
+
+        void drive(ExecutorService requests, long start, long end) {
+            for (long intended = start; intended < end; intended += intervalNanos) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                long scheduledAt = intended;
+                requests.execute(() -> send(scheduledAt));
+            }
+        }
+
+        private void send(long scheduledAt) {
+            try {
+                HttpResponse<Void> response = client.send(request.apply(pickId()).timeout(Duration.ofSeconds(30)).build(),
+                        HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    errors.incrementAndGet();
+                }
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            } finally {
+                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+                recorder.recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(1)));
+            }
+        }
+    }
+
+    public record EndpointResult(String endpoint, Histogram histogram, long errors, double seconds) {
+
+        public double throughput() {
+            return histogram.getTotalCount() / seconds;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package eu.partyn.app.perf;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Prints a per-endpoint latency and throughput summary and writes full HdrHistogram percentile
+ * distributions ({@code .hgrm}, plottable with the HdrHistogram plotter) next to it.
+ */
+public final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    public static void write(List<LoadDriver.EndpointResult> results, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(Locale.ROOT, "%-24s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        for (LoadDriver.EndpointResult result : results) {
+            var histogram = result.histogram();
+            summary.append(String.format(Locale.ROOT, "%-24s %9d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.endpoint(),
+                    histogram.getTotalCount(),
+                    result.throughput(),
+                    result.errors(),
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0));
+
+            Path distribution = directory.resolve(fileName(result.endpoint()) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(distribution))) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.print(summary);
+        Files.writeString(directory.resolve("summary.txt"), summary);
+        System.out.println("Percentile distributions written to " + directory.toAbsolutePath());
+    }
+
+    private static String fileName(String endpoint) {
+        return endpoint.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+    }
+}
@@ -0,0 +1,83 @@
+package eu.partyn.app.perf;
+
+import eu.partyn.app.PartynAppApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts the application on an in-memory H2 database with Firebase and Storage stubbed, fills it
+ * with a synthetic dataset, drives load against the main endpoints and writes a latency report.
+ *
+ * <p>Arguments are {@code key=value} pairs, all optional: {@code events} (10000),
+ * {@code duration} in seconds (60), {@code listRate}, {@code detailRate} and {@code likeRate} in
+ * requests per second (50, 200, 200), {@code report} directory (build/reports/loadtest) and
+ * {@code jdbcUrl} to run against a local PostgreSQL instead of H2.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int events = Integer.parseInt(options.getOrDefault("events", "10000"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+
+        try (ConfigurableApplicationContext context = start(options)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            int[] ids = new EventDatasetGenerator(jdbcTemplate, 42).generate(events);
+
+            String port = context.getEnvironment().getProperty("local.server.port");
+            LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port), ids[0], ids[1])
+                    .list(Double.parseDouble(options.getOrDefault("listRate", "50")))
+                    .detail(Double.parseDouble(options.getOrDefault("detailRate", "200")))
+                    .like(Double.parseDouble(options.getOrDefault("likeRate", "200")));
+
+            System.out.printf("Driving load for %ds against %d events%n", duration.toSeconds(), events);
+            List<LoadDriver.EndpointResult> results = driver.run(duration);
+            LoadReport.write(results, Path.of(options.getOrDefault("report", "build/reports/loadtest")));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Map<String, String> options) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url", options.getOrDefault("jdbcUrl", "jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=PostgreSQL"));
+        properties.put("spring.datasource.username", options.getOrDefault("jdbcUser", "sa"));
+        properties.put("spring.datasource.password", options.getOrDefault("jdbcPassword", ""));
+        if (!options.containsKey("jdbcUrl")) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+            properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        }
+        properties.put("partyn.storage.type", "filesystem");
+        // All load comes from one address with a handful of tokens; measure the service, not the throttle.
+        properties.put("partyn.ratelimit.like.ip.rate-per-second", options.getOrDefault("likeIpRate", "1000000"));
+        properties.put("partyn.ratelimit.like.ip.burst", options.getOrDefault("likeIpBurst", "1000000"));
+        properties.put("partyn.ratelimit.like.user.rate-per-second", options.getOrDefault("likeUserRate", "1000000"));
+        properties.put("partyn.ratelimit.like.user.burst", options.getOrDefault("likeUserBurst", "1000000"));
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+
+        return new SpringApplicationBuilder(PartynAppApplication.class, LoadTestStubs.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
@@ -0,0 +1,39 @@
+package eu.partyn.app.perf;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.service.FirebaseService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.lang.reflect.Constructor;
+import java.util.Map;
+
+/**
+ * Replaces the external services for load tests: every bearer token is accepted as a regular
+ * (non-admin) user whose uid is the token itself. Storage is replaced through
+ * {@code partyn.storage.type=filesystem}.
+ */
+@Configuration
+public class LoadTestStubs {
+
+    @Bean
+    @Primary
+    public FirebaseService stubFirebaseService(MeterRegistry meterRegistry, ObjectProvider<FirebaseApp> firebaseApp) {
+        return new FirebaseService(meterRegistry, 0, firebaseApp) {
+            @Override
+            public FirebaseToken authenticate(String idToken) throws Exception {
+                return token(Map.of("sub", idToken, "user_id", idToken, "exp", Long.MAX_VALUE));
+            }
+        };
+    }
+
+    private static FirebaseToken token(Map<String, Object> claims) throws ReflectiveOperationException {
+        Constructor<FirebaseToken> constructor = FirebaseToken.class.getDeclaredConstructor(Map.class);
+        constructor.setAccessible(true);
+        return constructor.newInstance(claims);
+    }
+}
@@ -0,0 +1,189 @@
+package eu.partyn.app.perf;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures how long a freshly started application takes to answer its first {@code GET /events}
+ * with 200, per startup mode:
+ * <ul>
+ *     <li>{@code default}: the boot jar with the default profile;</li>
+ *     <li>{@code faststart}: the boot jar with the faststart profile, as the {@code Procfile} runs it;</li>
+ *     <li>{@code faststart+cds}: faststart from the plain-jar layout with an AppCDS archive, as in
+ *     {@code Dockerfile.backend}.</li>
+ * </ul>
+ * Every run is a new JVM on a file-based H2 database that a first, untimed default run creates.
+ * Firebase and Storage are never touched, as on a real cold start.
+ *
+ * <p>Arguments are {@code key=value} pairs: {@code bootJar} and {@code cdsDir} (set by the Gradle
+ * task), {@code runs} per mode (5) and {@code modes} as a comma-separated list (all three).
+ *
+ * <p>Usage: {@code ./gradlew startupBenchmark -Pruns=10}
+ */
+public class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+
+    private final Path bootJar;
+    private final Path cdsDir;
+    private final Path workDir;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    StartupBenchmark(Path bootJar, Path cdsDir, Path workDir) {
+        this.bootJar = bootJar;
+        this.cdsDir = cdsDir;
+        this.workDir = workDir;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path bootJar = Path.of(options.getOrDefault("bootJar", "build/libs/Partyn-app-1.0.0.jar"));
+        Path cdsDir = Path.of(options.getOrDefault("cdsDir", "build/cds"));
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = Arrays.asList(options.getOrDefault("modes", "default,faststart,faststart+cds").split(","));
+
+        StartupBenchmark benchmark = new StartupBenchmark(bootJar, cdsDir, Files.createTempDirectory("partyn-startup"));
+        System.out.println("Creating the schema with an untimed default start");
+        benchmark.start("default");
+        if (modes.contains("faststart+cds")) {
+            System.out.println("Recording the class-data sharing archive");
+            benchmark.train();
+        }
+
+        System.out.printf(Locale.ROOT, "%-16s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        for (String mode : modes) {
+            long[] millis = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                millis[i] = benchmark.start(mode);
+            }
+            Arrays.sort(millis);
+            System.out.printf(Locale.ROOT, "%-16s %10d %10d %10d%n", mode, millis[0], millis[runs / 2], millis[runs - 1]);
+        }
+    }
+
+    /**
+     * Starts the application in {@code mode}, waits for the first successful {@code GET /events} and
+     * stops it again. Returns the milliseconds from process start to that response.
+     */
+    long start(String mode) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(javaCommand(mode));
+        command.addAll(applicationArguments(port));
+        Path log = workDir.resolve(mode.replace('+', '-') + ".log");
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            awaitFirstPage(process, port, log);
+            return Duration.ofNanos(System.nanoTime() - started).toMillis();
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    /**
+     * Runs the faststart configuration up to context refresh and dumps the classes it loaded, as the
+     * image build does.
+     */
+    void train() throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(java(),
+                "-XX:ArchiveClassesAtExit=" + cdsDir.resolve("app.jsa"),
+                "-Dspring.context.exit=onRefresh",
+                "-jar", cdsDir.resolve("app.jar").toString()));
+        command.addAll(applicationArguments(freePort()));
+        command.add("--spring.profiles.active=faststart");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDir.resolve("training.log").toFile())
+                .start();
+        process.waitFor();
+        if (!Files.exists(cdsDir.resolve("app.jsa"))) {
+            throw new IllegalStateException("Training run failed, see " + workDir.resolve("training.log"));
+        }
+    }
+
+    private List<String> javaCommand(String mode) {
+        return switch (mode) {
+            case "default" -> List.of(java(), "-jar", bootJar.toString());
+            case "faststart" -> List.of(java(), "-Dspring.profiles.active=faststart",
+                    "-jar", bootJar.toString());
+            case "faststart+cds" -> List.of(java(), "-XX:SharedArchiveFile=" + cdsDir.resolve("app.jsa"),
+                    "-Dspring.profiles.active=faststart",
+                    "-jar", cdsDir.resolve("app.jar").toString());
+            default -> throw new IllegalArgumentException("Unknown mode " + mode);
+        };
+    }
+
+    private List<String> applicationArguments(int port) {
+        return List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=jdbc:h2:file:" + workDir.resolve("db") + ";MODE=PostgreSQL",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--partyn.storage.type=filesystem",
+                "--logging.level.root=WARN");
+    }
+
+    private void awaitFirstPage(Process process, int port, Path log) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/events?limit=50"))
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited with " + process.exitValue() + ", see " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(POLL_INTERVAL.toMillis());
+        }
+        throw new IllegalStateException("No successful GET /events within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    private static String java() {
+        return Path.of(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                options.put(arg.substring(0, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+}
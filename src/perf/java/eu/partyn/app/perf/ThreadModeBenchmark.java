@@ -0,0 +1,101 @@
+package eu.partyn.app.perf;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default Tomcat worker pool with virtual-thread-per-request execution for the
+ * request shapes that block in this application.
+ *
+ * <p>Each simulated request sleeps for the typical latency of its blocking calls and takes a
+ * connection from a bounded pool for its JDBC work, exactly like a Hikari pool would throttle it.
+ * The benchmark prints throughput and latency percentiles per execution mode.
+ *
+ * <p>Usage: {@code ./gradlew threadModeBenchmark -Prequests=20000 -PpoolSize=20}
+ */
+public class ThreadModeBenchmark {
+
+    private static final int TOMCAT_DEFAULT_MAX_THREADS = 200;
+
+    private enum Shape {
+        LIKE(20, 0, 2),
+        UPLOAD(20, 300, 5),
+        READ(0, 0, 3);
+
+        final long authMillis;
+        final long storageMillis;
+        final long jdbcMillis;
+
+        Shape(long authMillis, long storageMillis, long jdbcMillis) {
+            this.authMillis = authMillis;
+            this.storageMillis = storageMillis;
+            this.jdbcMillis = jdbcMillis;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int poolSize = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        System.out.printf(Locale.ROOT, "%d requests, JDBC pool of %d connections%n", requests, poolSize);
+        System.out.printf(Locale.ROOT, "%-18s %12s %10s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms", "max ms");
+        run("platform-200", Executors.newFixedThreadPool(TOMCAT_DEFAULT_MAX_THREADS), requests, poolSize);
+        run("virtual", Executors.newVirtualThreadPerTaskExecutor(), requests, poolSize);
+    }
+
+    private static void run(String mode, ExecutorService executor, int requests, int poolSize) throws InterruptedException {
+        Semaphore connections = new Semaphore(poolSize);
+        long[] latencies = new long[requests];
+        CountDownLatch done = new CountDownLatch(requests);
+        Shape[] shapes = Shape.values();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < requests; i++) {
+            int index = i;
+            Shape shape = shapes[i % shapes.length];
+            long submitted = System.nanoTime();
+            executor.execute(() -> {
+                try {
+                    handle(shape, connections);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latencies[index] = System.nanoTime() - submitted;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        Arrays.sort(latencies);
+        System.out.printf(Locale.ROOT, "%-18s %12.0f %10.1f %10.1f %10.1f%n",
+                mode,
+                requests / (elapsed / 1e9),
+                millis(latencies[requests / 2]),
+                millis(latencies[(int) (requests * 0.99)]),
+                millis(latencies[requests - 1]));
+    }
+
+    private static void handle(Shape shape, Semaphore connections) throws InterruptedException {
+        Thread.sleep(shape.authMillis);
+        Thread.sleep(shape.storageMillis);
+        connections.acquire();
+        try {
+            Thread.sleep(shape.jdbcMillis);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,103 @@
+package config;
+
+import eu.partyn.app.config.LikeRateLimitFilter;
+import eu.partyn.app.service.FirebaseService;
+import eu.partyn.app.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class LikeRateLimitFilterTest {
+
+    private TokenBucketLimiter ipLimiter;
+
+    private TokenBucketLimiter callerLimiter;
+
+    private FirebaseService firebaseService;
+
+    private FilterChain chain;
+
+    private LikeRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        ipLimiter = mock(TokenBucketLimiter.class);
+        callerLimiter = mock(TokenBucketLimiter.class);
+        firebaseService = mock(FirebaseService.class);
+        chain = mock(FilterChain.class);
+        when(firebaseService.callerKey("token")).thenReturn("uid:alice");
+        filter = new LikeRateLimitFilter(ipLimiter, callerLimiter, firebaseService, 1, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void testAdmittedRequestPassesThrough() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(likeRequest(), response, chain);
+
+        verify(chain).doFilter(any(), any());
+        verify(callerLimiter).tryAcquire("uid:alice");
+        verify(ipLimiter, never()).refund(any());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testRejectedCallerGets429WithRetryAfter() throws Exception {
+        when(callerLimiter.tryAcquire("uid:alice")).thenReturn(1_500_000_000L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(likeRequest(), response, chain);
+
+        assertEquals(429, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+        verify(chain, never()).doFilter(any(), any());
+        verify(ipLimiter).refund("127.0.0.1");
+    }
+
+    @Test
+    void testRejectedIpSkipsCallerLookup() throws Exception {
+        when(ipLimiter.tryAcquire(any())).thenReturn(1L);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(likeRequest(), response, chain);
+
+        assertEquals(429, response.getStatus());
+        verifyNoInteractions(firebaseService, callerLimiter);
+    }
+
+    @Test
+    void testConcurrencyLimitSheds() throws Exception {
+        MockHttpServletResponse blocked = new MockHttpServletResponse();
+        doAnswer(invocation -> {
+            filter.doFilter(likeRequest(), blocked, mock(FilterChain.class));
+            return null;
+        }).when(chain).doFilter(any(), any());
+
+        filter.doFilter(likeRequest(), new MockHttpServletResponse(), chain);
+
+        assertEquals(429, blocked.getStatus());
+    }
+
+    @Test
+    void testOtherRequestsAreNotThrottled() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        verify(chain).doFilter(any(), any());
+        verifyNoInteractions(ipLimiter, callerLimiter);
+    }
+
+    private static MockHttpServletRequest likeRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/events/1/like");
+        request.addHeader("Authorization", "Bearer token");
+        return request;
+    }
+}
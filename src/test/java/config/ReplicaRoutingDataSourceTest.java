@@ -0,0 +1,96 @@
+package config;
+
+import eu.partyn.app.config.ReadYourWritesWindow;
+import eu.partyn.app.config.ReplicaRoutingDataSource;
+import eu.partyn.app.model.EventChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes against two in-memory H2 databases that each know their own name.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        readYourWritesWindow = new ReadYourWritesWindow(Duration.ofMinutes(1));
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+                database("primary"), database("replica"), readYourWritesWindow));
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseReplica() {
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testReadWriteTransactionsUsePrimary() {
+        assertEquals("primary", readWrite.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testStatementsOutsideTransactionsUsePrimary() {
+        assertEquals("primary", whoAmI());
+    }
+
+    @Test
+    void testReadsStayOnPrimaryAfterWrite() {
+        readYourWritesWindow.onEventChange(EventChange.updated(1));
+
+        assertEquals("primary", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testLikesDoNotOpenWindow() {
+        readYourWritesWindow.onEventChange(EventChange.liked(1));
+
+        assertEquals("replica", readOnly.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testWindowCloses() throws Exception {
+        readYourWritesWindow = new ReadYourWritesWindow(Duration.ofMillis(10));
+        readYourWritesWindow.recordWrite();
+
+        Thread.sleep(20);
+
+        assertFalse(readYourWritesWindow.isOpen());
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate setup = new JdbcTemplate(dataSource);
+        setup.execute("CREATE TABLE whoami (name VARCHAR(16))");
+        setup.update("INSERT INTO whoami VALUES (?)", name);
+        return dataSource;
+    }
+}
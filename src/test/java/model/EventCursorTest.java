@@ -0,0 +1,37 @@
+package model;
+
+import eu.partyn.app.exception.InvalidCursorException;
+import eu.partyn.app.model.EventCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCursorTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        LocalDateTime dateTime = LocalDateTime.of(2024, 5, 17, 22, 30);
+        ScrollPosition position = ScrollPosition.forward(Map.of("dateTime", dateTime, "id", 42));
+
+        KeysetScrollPosition decoded = EventCursor.decode(EventCursor.encode(position));
+
+        assertEquals(dateTime, decoded.getKeys().get("dateTime"));
+        assertEquals(42, decoded.getKeys().get("id"));
+    }
+
+    @Test
+    void testMissingCursorStartsFromBeginning() {
+        assertTrue(EventCursor.decode(null).isInitial());
+        assertTrue(EventCursor.decode("").isInitial());
+    }
+
+    @Test
+    void testGarbageCursorIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> EventCursor.decode("not-a-cursor"));
+    }
+}
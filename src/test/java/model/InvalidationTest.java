@@ -0,0 +1,25 @@
+package model;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.Invalidation;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvalidationTest {
+
+    @Test
+    void testMessageRoundTrip() {
+        Invalidation invalidation = new Invalidation("node-a", 17, EventChange.Type.DELETED, 42, 1_717_272_000_000L);
+
+        assertEquals(invalidation, Invalidation.decode(invalidation.encode()));
+        assertEquals(EventChange.remote(EventChange.Type.DELETED, 42), invalidation.toChange());
+    }
+
+    @Test
+    void testOtherFormatsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> Invalidation.decode("2;node-a;17;DELETED;42;0"));
+        assertThrows(IllegalArgumentException.class, () -> Invalidation.decode("1;node-a;17;RENAMED;42;0"));
+        assertThrows(IllegalArgumentException.class, () -> Invalidation.decode("garbage"));
+    }
+}
@@ -0,0 +1,27 @@
+package model;
+
+import eu.partyn.app.exception.InvalidCursorException;
+import eu.partyn.app.model.SyncToken;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncTokenTest {
+
+    @Test
+    void testTokenRoundTrip() {
+        assertEquals(123_456_789L, SyncToken.decode(SyncToken.encode(123_456_789L)));
+    }
+
+    @Test
+    void testMissingTokenStartsFromBeginning() {
+        assertEquals(SyncToken.INITIAL, SyncToken.decode(null));
+        assertEquals(SyncToken.INITIAL, SyncToken.decode(""));
+    }
+
+    @Test
+    void testGarbageTokenIsRejected() {
+        assertThrows(InvalidCursorException.class, () -> SyncToken.decode("not-a-token"));
+        assertThrows(InvalidCursorException.class, () -> SyncToken.decode(SyncToken.encode(-5)));
+    }
+}
@@ -0,0 +1,66 @@
+package service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.service.EventCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCacheTest {
+
+    private EventCache eventCache;
+
+    private AtomicInteger loads;
+
+    private Function<Integer, Optional<Event>> loader;
+
+    @BeforeEach
+    void setUp() {
+        eventCache = new EventCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return Optional.of(Event.builder().id(id).name("Event " + id).likes(3).build());
+        };
+    }
+
+    @Test
+    void testRepeatedReadsHitTheCache() {
+        eventCache.get(1, loader);
+        eventCache.get(1, loader);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testCallersGetIndependentCopies() {
+        eventCache.get(1, loader).orElseThrow().setName("changed");
+
+        assertEquals("Event 1", eventCache.get(1, loader).orElseThrow().getName());
+    }
+
+    @Test
+    void testChangeEvictsEntry() {
+        eventCache.get(1, loader);
+
+        eventCache.onEventChange(EventChange.updated(1));
+        eventCache.get(1, loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testMissingEventIsNotCached() {
+        assertTrue(eventCache.get(1, id -> Optional.empty()).isEmpty());
+
+        assertTrue(eventCache.get(1, loader).isPresent());
+    }
+}
@@ -0,0 +1,163 @@
+package service;
+
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventImportReport;
+import eu.partyn.app.service.EventCsvService;
+import eu.partyn.app.service.SecurityService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventCsvServiceTest {
+
+    private static final String HEADER = "name,dateTime,endDateTime,ticketPrice,description,location,topPick\n";
+
+    private JdbcTemplate jdbcTemplate;
+
+    private SecurityService securityService;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private FirebaseToken token;
+
+    private EventCsvService csvService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.getDataSource()).thenReturn(mock(DataSource.class));
+        securityService = mock(SecurityService.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        token = mock(FirebaseToken.class);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+        csvService = new EventCsvService(jdbcTemplate, transactionTemplate,
+                Validation.buildDefaultValidatorFactory().getValidator(), securityService, eventPublisher, 2, 100);
+    }
+
+    @Test
+    void testImportsValidRowsInBatches() throws Exception {
+        assignIds();
+        EventImportReport report = csvService.importEvents(token, csv(
+                row("Techno Night") + row("House Session") + row("Jazz Evening")));
+
+        assertEquals(3, report.imported());
+        assertEquals(0, report.rejected());
+        verify(jdbcTemplate, times(2)).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+        ArgumentCaptor<EventChange> changes = ArgumentCaptor.forClass(EventChange.class);
+        verify(eventPublisher, times(3)).publishEvent(changes.capture());
+        assertEquals(List.of(51, 52, 53), changes.getAllValues().stream().map(EventChange::eventId).toList());
+    }
+
+    @Test
+    void testReportsInvalidRowsByLine() throws Exception {
+        assignIds();
+        EventImportReport report = csvService.importEvents(token, csv(
+                row("Techno Night")
+                        + ",2024-06-01T22:00,2024-06-02T04:00,10,Nameless,Hall,false\n"
+                        + "Bad Date,tomorrow,2024-06-02T04:00,10,Broken,Hall,false\n"));
+
+        assertEquals(1, report.imported());
+        assertEquals(2, report.rejected());
+        assertEquals(List.of(3L, 4L), report.errors().stream().map(EventImportReport.RowError::line).toList());
+        assertTrue(report.errors().get(0).message().startsWith("name:"));
+    }
+
+    @Test
+    void testFailedRowIsRejected() throws Exception {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        EventImportReport report = csvService.importEvents(token, csv(row("Techno Night")));
+
+        assertEquals(0, report.imported());
+        assertEquals(1, report.rejected());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testFailedBatchIsRetriedRowByRow() throws Exception {
+        AtomicInteger singleRows = new AtomicInteger();
+        doAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            if (setter.getBatchSize() > 1 || singleRows.incrementAndGet() == 2) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            KeyHolder keys = invocation.getArgument(2);
+            keys.getKeyList().add(Map.of("id", 51));
+            return new int[]{1};
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+
+        EventImportReport report = csvService.importEvents(token, csv(row("Techno Night") + row("House Session")));
+
+        assertEquals(1, report.imported());
+        assertEquals(1, report.rejected());
+        assertEquals(3L, report.errors().get(0).line());
+        verify(eventPublisher).publishEvent(EventChange.created(51));
+    }
+
+    @Test
+    void testImportRequiresAdmin() {
+        doThrow(new AccessDeniedException("User is not authorized")).when(securityService).checkAdmin(token);
+
+        assertThrows(AccessDeniedException.class, () -> csvService.importEvents(token, csv(row("Techno Night"))));
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    @Test
+    void testExportRequiresAdmin() {
+        doThrow(new AccessDeniedException("User is not authorized")).when(securityService).checkAdmin(token);
+
+        assertThrows(AccessDeniedException.class, () -> csvService.exportEvents(token));
+    }
+
+    /**
+     * Answers every insert batch with generated ids counting up from 51.
+     */
+    private void assignIds() {
+        AtomicInteger nextId = new AtomicInteger(51);
+        doAnswer(invocation -> {
+            BatchPreparedStatementSetter setter = invocation.getArgument(1);
+            KeyHolder keys = invocation.getArgument(2);
+            for (int i = 0; i < setter.getBatchSize(); i++) {
+                keys.getKeyList().add(Map.of("id", nextId.getAndIncrement()));
+            }
+            return new int[setter.getBatchSize()];
+        }).when(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class),
+                any(BatchPreparedStatementSetter.class), any(KeyHolder.class));
+    }
+
+    private static String row(String name) {
+        return name + ",2024-06-01T22:00,2024-06-02T04:00,10,A night out,Hall,false\n";
+    }
+
+    private static InputStream csv(String rows) {
+        return new ByteArrayInputStream((HEADER + rows).getBytes(StandardCharsets.UTF_8));
+    }
+}
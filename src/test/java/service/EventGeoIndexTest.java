@@ -0,0 +1,88 @@
+package service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.service.EventGeoIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class EventGeoIndexTest {
+
+    private static final double TALLINN_LAT = 59.4370;
+    private static final double TALLINN_LON = 24.7536;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventGeoIndex eventGeoIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventGeoIndex.index(event(1, 59.4400, 24.7500));  // old town, ~350 m
+        eventGeoIndex.index(event(2, 59.4260, 24.7270));  // Telliskivi, ~2 km
+        eventGeoIndex.index(event(3, 58.3780, 26.7290));  // Tartu, ~160 km
+        eventGeoIndex.index(event(4, null, null));
+    }
+
+    @Test
+    void testReturnsEventsWithinRadiusClosestFirst() {
+        List<EventGeoIndex.Hit> hits = eventGeoIndex.nearby(TALLINN_LAT, TALLINN_LON, 5_000, 10);
+
+        assertEquals(List.of(1, 2), hits.stream().map(EventGeoIndex.Hit::eventId).toList());
+        assertTrue(hits.get(0).distanceMeters() < 500);
+        assertTrue(hits.get(1).distanceMeters() > 1_500 && hits.get(1).distanceMeters() < 2_500);
+    }
+
+    @Test
+    void testRadiusExcludesFartherEvents() {
+        assertEquals(List.of(1), eventGeoIndex.nearby(TALLINN_LAT, TALLINN_LON, 1_000, 10).stream()
+                .map(EventGeoIndex.Hit::eventId).toList());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(1, eventGeoIndex.nearby(TALLINN_LAT, TALLINN_LON, 5_000, 1).size());
+    }
+
+    @Test
+    void testFindsEventsAcrossTheAntimeridian() {
+        eventGeoIndex.index(event(5, 0.0, 179.99));
+
+        List<EventGeoIndex.Hit> hits = eventGeoIndex.nearby(0.0, -179.99, 5_000, 10);
+
+        assertEquals(List.of(5), hits.stream().map(EventGeoIndex.Hit::eventId).toList());
+    }
+
+    @Test
+    void testUpdateMovesEvent() {
+        when(eventRepository.findById(3)).thenReturn(Optional.of(event(3, 59.4375, 24.7540)));
+
+        eventGeoIndex.onEventChange(EventChange.updated(3));
+
+        assertEquals(3, eventGeoIndex.nearby(TALLINN_LAT, TALLINN_LON, 100, 10).get(0).eventId());
+    }
+
+    @Test
+    void testDeleteRemovesEvent() {
+        eventGeoIndex.onEventChange(EventChange.deleted(1));
+
+        assertEquals(List.of(2), eventGeoIndex.nearby(TALLINN_LAT, TALLINN_LON, 5_000, 10).stream()
+                .map(EventGeoIndex.Hit::eventId).toList());
+    }
+
+    private static Event event(int id, Double latitude, Double longitude) {
+        return Event.builder().id(id).name("Event " + id).latitude(latitude).longitude(longitude).build();
+    }
+}
@@ -0,0 +1,103 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.Invalidation;
+import eu.partyn.app.model.OutboxRecord;
+import eu.partyn.app.service.EventInvalidationService;
+import eu.partyn.app.service.InJvmInvalidationBus;
+import eu.partyn.app.service.InstanceId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two instances sharing one in-JVM bus.
+ */
+class EventInvalidationServiceTest {
+
+    private InJvmInvalidationBus bus;
+
+    private ApplicationEventPublisher firstPublisher;
+
+    private ApplicationEventPublisher secondPublisher;
+
+    private SimpleMeterRegistry secondMeters;
+
+    private InstanceId firstId;
+
+    private EventInvalidationService first;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InJvmInvalidationBus();
+        firstPublisher = mock(ApplicationEventPublisher.class);
+        secondPublisher = mock(ApplicationEventPublisher.class);
+        secondMeters = new SimpleMeterRegistry();
+        firstId = new InstanceId();
+        first = new EventInvalidationService(bus, firstId, firstPublisher, new SimpleMeterRegistry(),
+                "commit", Duration.ofMinutes(10), 1000);
+        new EventInvalidationService(bus, new InstanceId(), secondPublisher, secondMeters,
+                "commit", Duration.ofMinutes(10), 1000);
+    }
+
+    @Test
+    void testOutboxRecordsReachOtherInstancesOnly() {
+        EventInvalidationService viaOutbox = new EventInvalidationService(bus, firstId, firstPublisher,
+                new SimpleMeterRegistry(), "outbox", Duration.ofMinutes(10), 1000);
+        LocalDateTime createdAt = LocalDateTime.now();
+
+        viaOutbox.onEventChange(EventChange.updated(1));
+        verifyNoInteractions(secondPublisher);
+
+        viaOutbox.accept(List.of(
+                new OutboxRecord(41L, 1, EventChange.Type.UPDATED, createdAt, firstId.value()),
+                new OutboxRecord(42L, 1, EventChange.Type.UPDATED, createdAt, firstId.value())));
+        viaOutbox.accept(List.of(new OutboxRecord(41L, 1, EventChange.Type.UPDATED, createdAt, firstId.value())));
+
+        verify(secondPublisher, times(2)).publishEvent(EventChange.remote(EventChange.Type.UPDATED, 1));
+        verify(firstPublisher, never()).publishEvent(any(Object.class));
+        assertTrue(viaOutbox.isEnabled());
+        assertFalse(first.isEnabled());
+        assertEquals(1, secondMeters.counter("partyn.invalidation.received", "outcome", "duplicate").count());
+    }
+
+    @Test
+    void testLocalChangesReachOtherInstancesAsRemoteChanges() {
+        first.onEventChange(EventChange.updated(1));
+        first.onEventChange(EventChange.deleted(2));
+
+        verify(secondPublisher).publishEvent(EventChange.remote(EventChange.Type.UPDATED, 1));
+        verify(secondPublisher).publishEvent(EventChange.remote(EventChange.Type.DELETED, 2));
+        verify(firstPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(2, secondMeters.timer("partyn.invalidation.lag").count());
+    }
+
+    @Test
+    void testRemoteChangesAreNotForwardedAgain() {
+        first.onEventChange(EventChange.remote(EventChange.Type.UPDATED, 1));
+
+        verifyNoInteractions(secondPublisher);
+    }
+
+    @Test
+    void testOnlyRepeatedMessagesAreDropped() {
+        long now = System.currentTimeMillis();
+        bus.publish(new Invalidation("node-x", 6, EventChange.Type.LIKED, 1, now));
+        bus.publish(new Invalidation("node-x", 6, EventChange.Type.LIKED, 1, now));
+        // Committed after the like, though its outbox id was drawn first
+        bus.publish(new Invalidation("node-x", 5, EventChange.Type.UPDATED, 1, now));
+
+        verify(secondPublisher, times(1)).publishEvent(EventChange.remote(EventChange.Type.LIKED, 1));
+        verify(secondPublisher, times(1)).publishEvent(EventChange.remote(EventChange.Type.UPDATED, 1));
+        assertEquals(1, secondMeters.counter("partyn.invalidation.received", "outcome", "duplicate").count());
+    }
+}
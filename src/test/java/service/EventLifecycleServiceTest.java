@@ -0,0 +1,89 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.service.EventLifecycleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventLifecycleServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 23, 0);
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private EventLifecycleService lifecycleService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(Integer.class))).thenReturn(List.of());
+        lifecycleService = new EventLifecycleService(jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), eventPublisher, meterRegistry,
+                Duration.ofDays(7), 2);
+    }
+
+    @Test
+    void testStartedEventsGoLive() {
+        when(jdbcTemplate.queryForList(contains("status = 'PUBLISHED' AND date_time"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(1));
+
+        lifecycleService.advance(NOW);
+
+        verify(jdbcTemplate).update(startsWith("UPDATE event SET status = :to, version = version + 1"),
+                argThat((MapSqlParameterSource params) -> "LIVE".equals(params.getValue("to"))));
+        verify(eventPublisher).publishEvent(EventChange.updated(1));
+        assertEquals(1, meterRegistry.counter("partyn.lifecycle.transitions", "status", "LIVE").count());
+    }
+
+    @Test
+    void testEndedEventsAreArchivedAndAnnouncedAsDeleted() {
+        when(jdbcTemplate.queryForList(contains("status = 'ENDED'"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(7));
+
+        lifecycleService.advance(NOW);
+
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_archive"), any(MapSqlParameterSource.class));
+        verify(jdbcTemplate).update(startsWith("DELETE FROM event"), any(MapSqlParameterSource.class));
+        verify(eventPublisher).publishEvent(EventChange.deleted(7));
+    }
+
+    @Test
+    void testArchivesOnlyEventsEndedBeforeCutoff() {
+        lifecycleService.advance(NOW);
+
+        verify(jdbcTemplate).queryForList(contains("status = 'ENDED'"),
+                argThat((MapSqlParameterSource params) -> NOW.minusDays(7).equals(params.getValue("cutoff"))),
+                eq(Integer.class));
+    }
+
+    @Test
+    void testFullBatchesAreFollowedByAnotherBatch() {
+        when(jdbcTemplate.queryForList(contains("status IN ('PUBLISHED', 'LIVE')"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(1, 2), List.of(3));
+
+        lifecycleService.advance(NOW);
+
+        verify(jdbcTemplate, times(2)).update(startsWith("UPDATE event SET status"), any(MapSqlParameterSource.class));
+        assertEquals(3, meterRegistry.counter("partyn.lifecycle.transitions", "status", "ENDED").count());
+    }
+}
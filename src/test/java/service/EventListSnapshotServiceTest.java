@@ -0,0 +1,134 @@
+package service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.partyn.app.mapper.EventMapper;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventFilter;
+import eu.partyn.app.model.EventPage;
+import eu.partyn.app.service.EventListSnapshotService;
+import eu.partyn.app.service.EventService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventListSnapshotServiceTest {
+
+    private EventService eventService;
+
+    private EventListSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        eventService = mock(EventService.class);
+        Event event = event(1, LocalDateTime.of(2024, 6, 1, 22, 0));
+        when(eventService.getEvents(any(), any(), anyInt())).thenReturn(new EventPage(List.of(event), null));
+        snapshotService = new EventListSnapshotService(eventService, EventMapper.INSTANCE,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 16);
+    }
+
+    @Test
+    void testSnapshotIsBuiltOncePerPage() {
+        EventListSnapshotService.Snapshot first = snapshotService.get(EventFilter.none(), null, 50);
+        EventListSnapshotService.Snapshot second = snapshotService.get(EventFilter.none(), null, 50);
+
+        assertSame(first, second);
+        verify(eventService, times(1)).getEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void testLimitIsClampedToThePageSizeServed() {
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, EventService.MAX_PAGE_SIZE);
+
+        assertSame(snapshot, snapshotService.get(EventFilter.none(), null, 5000));
+        assertSame(snapshotService.get(EventFilter.none(), null, 0), snapshotService.get(EventFilter.none(), null, -3));
+        verify(eventService, times(2)).getEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void testChangeForcesRebuild() {
+        snapshotService.get(EventFilter.none(), null, 50);
+
+        when(eventService.getCommittedEvent(2)).thenReturn(Optional.of(event(2, LocalDateTime.of(2024, 6, 3, 22, 0))));
+        snapshotService.onEventChange(EventChange.created(2));
+        snapshotService.get(EventFilter.none(), null, 50);
+
+        verify(eventService, times(2)).getEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void testChangeOutsideThePageRangeKeepsIt() {
+        when(eventService.getEvents(any(), any(), anyInt()))
+                .thenReturn(new EventPage(List.of(event(1, LocalDateTime.of(2024, 6, 1, 22, 0))), "next"));
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, 1);
+
+        when(eventService.getCommittedEvent(2)).thenReturn(Optional.of(event(2, LocalDateTime.of(2024, 6, 3, 22, 0))));
+        snapshotService.onEventChange(EventChange.updated(2));
+        assertSame(snapshot, snapshotService.get(EventFilter.none(), null, 1));
+
+        when(eventService.getCommittedEvent(3)).thenReturn(Optional.of(event(3, LocalDateTime.of(2024, 5, 30, 22, 0))));
+        snapshotService.onEventChange(EventChange.updated(3));
+        assertNotSame(snapshot, snapshotService.get(EventFilter.none(), null, 1));
+    }
+
+    @Test
+    void testDeleteOnlyDropsPagesListingTheEvent() {
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, 50);
+
+        snapshotService.onEventChange(EventChange.deleted(2));
+        assertSame(snapshot, snapshotService.get(EventFilter.none(), null, 50));
+
+        snapshotService.onEventChange(EventChange.deleted(1));
+        assertNotSame(snapshot, snapshotService.get(EventFilter.none(), null, 50));
+    }
+
+    @Test
+    void testLikeOnlyDropsPagesListingTheEvent() {
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, 50);
+
+        snapshotService.onEventChange(EventChange.liked(2));
+        assertSame(snapshot, snapshotService.get(EventFilter.none(), null, 50));
+
+        snapshotService.onEventChange(EventChange.liked(1));
+        assertNotSame(snapshot, snapshotService.get(EventFilter.none(), null, 50));
+        verify(eventService, times(2)).getEvents(any(), any(), anyInt());
+    }
+
+    @Test
+    void testGzipBodyMatchesJson() throws Exception {
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, 50);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void testEtagMatching() {
+        EventListSnapshotService.Snapshot snapshot = snapshotService.get(EventFilter.none(), null, 50);
+
+        assertTrue(snapshot.matches(snapshot.etag()));
+        assertTrue(snapshot.matches("\"other\", W/" + snapshot.gzipEtag()));
+        assertFalse(snapshot.matches("\"other\""));
+        assertFalse(snapshot.matches(null));
+    }
+
+    private static Event event(int id, LocalDateTime dateTime) {
+        return Event.builder()
+                .id(id)
+                .name("Opening night")
+                .dateTime(dateTime)
+                .endDateTime(dateTime.plusHours(6))
+                .build();
+    }
+}
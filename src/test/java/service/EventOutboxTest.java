@@ -0,0 +1,97 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.OutboxRecord;
+import eu.partyn.app.service.EventChangeConsumer;
+import eu.partyn.app.service.EventOutbox;
+import eu.partyn.app.service.InstanceId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes against an in-memory H2 database with the outbox table created.
+ */
+class EventOutboxTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EventOutbox eventOutbox;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:outbox-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE SEQUENCE event_outbox_seq");
+        jdbcTemplate.execute("""
+                CREATE TABLE event_outbox (id BIGINT PRIMARY KEY, event_id INT NOT NULL,
+                type VARCHAR(16) NOT NULL, created_at TIMESTAMP NOT NULL, origin VARCHAR(36))""");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        eventOutbox = new EventOutbox(jdbcTemplate, new InstanceId(), List.of(records -> { }));
+    }
+
+    @Test
+    void testChangesAreWrittenWhenTheTransactionCommits() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventOutbox.onEventChange(EventChange.created(1));
+            eventOutbox.onEventChange(EventChange.updated(1));
+            eventOutbox.onEventChange(EventChange.deleted(2));
+            assertEquals(List.of(), types());
+        });
+
+        assertEquals(List.of("CREATED", "UPDATED", "DELETED"), types());
+    }
+
+    @Test
+    void testRolledBackChangesAreNotWritten() {
+        transactionTemplate.executeWithoutResult(status -> {
+            eventOutbox.onEventChange(EventChange.created(1));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> eventOutbox.onEventChange(EventChange.updated(2)));
+
+        assertEquals(List.of("UPDATED"), types());
+    }
+
+    @Test
+    void testChangesOutsideTransactionsAreWrittenImmediately() {
+        eventOutbox.onEventChange(EventChange.liked(3));
+
+        assertEquals(List.of("LIKED"), types());
+    }
+
+    @Test
+    void testNothingIsWrittenWithoutAnEnabledConsumer() {
+        EventChangeConsumer disabled = new EventChangeConsumer() {
+            @Override
+            public void accept(List<OutboxRecord> records) {
+            }
+
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+        };
+        EventOutbox unused = new EventOutbox(jdbcTemplate, new InstanceId(), List.of(disabled));
+
+        transactionTemplate.executeWithoutResult(status -> unused.onEventChange(EventChange.created(1)));
+        unused.onEventChange(EventChange.updated(1));
+
+        assertEquals(List.of(), types());
+    }
+
+    private List<String> types() {
+        return jdbcTemplate.queryForList("SELECT type FROM event_outbox ORDER BY id", String.class);
+    }
+}
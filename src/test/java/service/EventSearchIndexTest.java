@@ -0,0 +1,89 @@
+package service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.service.EventSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @InjectMocks
+    private EventSearchIndex eventSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        eventSearchIndex.index(event(1, "Techno Night", "Hall", "Dark warehouse techno until sunrise"));
+        eventSearchIndex.index(event(2, "Jazz Evening", "Möku Bar", "Live techno-free jazz"));
+        eventSearchIndex.index(event(3, "Open Air", "Telliskivi", "Techno and house outdoors"));
+    }
+
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        List<Integer> ids = eventSearchIndex.search("techno", 10);
+
+        assertEquals(3, ids.size());
+        assertEquals(1, ids.get(0));
+    }
+
+    @Test
+    void testPrefixMatches() {
+        assertEquals(List.of(3), eventSearchIndex.search("tellis", 10));
+    }
+
+    @Test
+    void testAllTermsMustMatch() {
+        assertEquals(List.of(3), eventSearchIndex.search("techno house", 10));
+        assertTrue(eventSearchIndex.search("techno polka", 10).isEmpty());
+    }
+
+    @Test
+    void testIgnoresCaseAndDiacritics() {
+        assertEquals(List.of(2), eventSearchIndex.search("MOKU", 10));
+    }
+
+    @Test
+    void testBlankQueryReturnsNothing() {
+        assertTrue(eventSearchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testLimit() {
+        assertEquals(2, eventSearchIndex.search("techno", 2).size());
+    }
+
+    @Test
+    void testUpdateReplacesTerms() {
+        when(eventRepository.findById(1)).thenReturn(Optional.of(event(1, "Salsa Night", "Hall", "Dancing")));
+
+        eventSearchIndex.onEventChange(EventChange.updated(1));
+
+        assertEquals(List.of(1), eventSearchIndex.search("salsa", 10));
+        assertFalse(eventSearchIndex.search("techno", 10).contains(1));
+    }
+
+    @Test
+    void testDeleteRemovesEvent() {
+        eventSearchIndex.onEventChange(EventChange.deleted(3));
+
+        assertTrue(eventSearchIndex.search("telliskivi", 10).isEmpty());
+    }
+
+    private static Event event(int id, String name, String location, String description) {
+        return Event.builder().id(id).name(name).location(location).description(description).build();
+    }
+}
@@ -1,24 +1,36 @@
 package service;
 
-import com.google.cloud.storage.Storage;
 import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.exception.EventNotFoundException;
+import eu.partyn.app.exception.EventVersionMismatchException;
 import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventStatus;
+import eu.partyn.app.model.ImageVariants;
 import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.service.EventCache;
 import eu.partyn.app.service.EventService;
+import eu.partyn.app.service.ImagePipeline;
+import eu.partyn.app.service.LikeCounter;
+import eu.partyn.app.service.LikeRegistry;
 import eu.partyn.app.service.SecurityService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.multipart.MultipartFile;
 
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class EventServiceTest {
@@ -30,7 +42,19 @@ class EventServiceTest {
     private SecurityService securityService;
 
     @Mock
-    private Storage storage;
+    private ImagePipeline imagePipeline;
+
+    @Mock
+    private LikeCounter likeCounter;
+
+    @Mock
+    private EventCache eventCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private LikeRegistry likeRegistry;
 
     @InjectMocks
     private EventService eventService;
@@ -42,8 +66,9 @@ class EventServiceTest {
     private MultipartFile file;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         MockitoAnnotations.openMocks(this);
+        when(imagePipeline.store(any())).thenReturn(new ImageVariants("thumbnail", "card", "full"));
     }
 
     @Test
@@ -55,6 +80,8 @@ class EventServiceTest {
 
         verify(securityService, times(1)).checkAdmin(firebaseToken);
         verify(eventRepository, times(1)).save(any(Event.class));
+        assertEquals("full", event.getImageUrl());
+        assertEquals("thumbnail", event.getThumbnailUrl());
     }
 
     @Test
@@ -76,6 +103,7 @@ class EventServiceTest {
 
         verify(securityService, times(1)).checkAdmin(firebaseToken);
         verify(eventRepository, times(1)).delete(any(Event.class));
+        verify(eventPublisher, times(1)).publishEvent(EventChange.deleted(1));
     }
 
     @Test
@@ -112,14 +140,159 @@ class EventServiceTest {
 
     @Test
     void testUserCanIncrementLikes() {
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.of(new Event()));
+        when(firebaseToken.getUid()).thenReturn("user");
+        when(likeRegistry.like(1, "user")).thenReturn(true);
+
+        assertTrue(eventService.likeEvent(firebaseToken, 1));
+
+        verify(likeCounter, times(1)).increment(1);
+        verify(eventRepository, times(0)).save(any(Event.class));
+    }
+
+    @Test
+    void testRepeatedLikeIsNotCounted() {
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.of(new Event()));
+        when(firebaseToken.getUid()).thenReturn("user");
+        when(likeRegistry.like(1, "user")).thenReturn(false);
+
+        assertFalse(eventService.likeEvent(firebaseToken, 1));
+
+        verify(likeCounter, times(0)).increment(anyInt());
+    }
+
+    @Test
+    void testUnlikeDecrementsOnlyExistingLike() {
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.of(new Event()));
+        when(firebaseToken.getUid()).thenReturn("user");
+        when(likeRegistry.unlike(1, "user")).thenReturn(true, false);
+
+        assertTrue(eventService.unlikeEvent(firebaseToken, 1));
+        assertFalse(eventService.unlikeEvent(firebaseToken, 1));
+
+        verify(likeCounter, times(1)).decrement(1);
+    }
+
+    @Test
+    void testLikingMissingEventFails() {
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.empty());
+
+        assertThrows(EventNotFoundException.class, () -> eventService.likeEvent(firebaseToken, 1));
+
+        verify(likeCounter, times(0)).increment(anyInt());
+        verifyNoInteractions(likeRegistry);
+    }
+
+    @Test
+    void testDraftsAreHiddenFromPublicPaths() {
+        Event draft = new Event();
+        draft.setId(1);
+        draft.setStatus(EventStatus.DRAFT);
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.of(draft));
+
+        assertTrue(eventService.getEventById(1).isEmpty());
+        assertThrows(EventNotFoundException.class, () -> eventService.likeEvent(firebaseToken, 1));
+        assertThrows(EventNotFoundException.class, () -> eventService.hasLiked(firebaseToken, 1));
+        verifyNoInteractions(likeRegistry);
+
+        assertSame(draft, eventService.getAnyEventById(firebaseToken, 1).orElseThrow());
+        verify(securityService, times(1)).checkAdmin(firebaseToken);
+    }
+
+    @Test
+    void testAnyEventReadRequiresAdmin() {
+        doThrow(new AccessDeniedException("User is not authorized")).when(securityService).checkAdmin(firebaseToken);
+
+        assertThrows(AccessDeniedException.class, () -> eventService.getAnyEventById(firebaseToken, 1));
+        verifyNoInteractions(eventCache);
+    }
+
+    @Test
+    void testEventReadIncludesPendingLikes() {
         Event event = new Event();
-        event.setLikes(0);
-        when(eventRepository.findById(anyInt())).thenReturn(Optional.of(event));
+        event.setId(1);
+        event.setLikes(5);
+        when(eventCache.get(eq(1), any())).thenReturn(Optional.of(event));
+        when(likeCounter.pending(1)).thenReturn(3);
 
-        eventService.incrementLikes(1);
+        assertEquals(8, eventService.getEventById(1).orElseThrow().getLikes());
+    }
 
-        assertEquals(1, event.getLikes());
-        verify(eventRepository, times(1)).save(any(Event.class));
+    @Test
+    void testBulkUpdateAppliesAllChangesInOneLoad() {
+        Event first = Event.builder().id(1).name("Old").location("Hall").build();
+        Event second = Event.builder().id(2).name("Old").location("Hall").build();
+        when(eventRepository.findAllById(List.of(1, 2))).thenReturn(List.of(first, second));
+        when(eventRepository.saveAll(anyCollection())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+        eventService.updateEvents(firebaseToken, List.of(
+                Event.builder().id(1).name("First").location("Club").build(),
+                Event.builder().id(2).name("Second").location("Bar").build()));
+
+        verify(securityService, times(1)).checkAdmin(firebaseToken);
+        verify(eventRepository, times(1)).findAllById(List.of(1, 2));
+        assertEquals("First", first.getName());
+        assertEquals("Bar", second.getLocation());
+        verify(eventPublisher, times(2)).publishEvent(any(EventChange.class));
+    }
+
+    @Test
+    void testBulkUpdateFailsOnUnknownId() {
+        when(eventRepository.findAllById(List.of(1, 2))).thenReturn(List.of(Event.builder().id(1).build()));
+
+        assertThrows(EventNotFoundException.class, () -> eventService.updateEvents(firebaseToken, List.of(
+                Event.builder().id(1).build(), Event.builder().id(2).build())));
+        verify(eventRepository, never()).saveAll(anyCollection());
     }
-}
 
+    @Test
+    void testBulkDeleteUsesOneStatement() {
+        List<Event> events = List.of(Event.builder().id(1).build(), Event.builder().id(2).build());
+        when(eventRepository.findAllById(List.of(1, 2))).thenReturn(events);
+
+        eventService.deleteEvents(firebaseToken, List.of(1, 2));
+
+        verify(eventRepository, times(1)).deleteAllInBatch(anyCollection());
+        verify(eventPublisher, times(1)).publishEvent(EventChange.deleted(1));
+        verify(eventPublisher, times(1)).publishEvent(EventChange.deleted(2));
+    }
+
+    @Test
+    void testNonAdminCannotBulkDelete() {
+        doThrow(new AccessDeniedException("User is not authorized")).when(securityService).checkAdmin(firebaseToken);
+
+        assertThrows(AccessDeniedException.class, () -> eventService.deleteEvents(firebaseToken, List.of(1)));
+        verify(eventRepository, never()).deleteAllInBatch(anyCollection());
+    }
+
+    @Test
+    void testPatchAppliesChangesAtExpectedVersion() throws Exception {
+        Event existing = Event.builder().id(1).name("Techno Night").topPick(false).version(3L).build();
+        when(eventRepository.findById(1)).thenReturn(Optional.of(existing));
+        when(eventRepository.saveAndFlush(existing)).thenReturn(existing);
+
+        eventService.patchEvent(firebaseToken, 1, 3L, event -> {
+            event.setTopPick(true);
+            return event;
+        });
+
+        assertTrue(existing.getTopPick());
+        assertEquals("Techno Night", existing.getName());
+        verify(eventRepository, times(1)).saveAndFlush(existing);
+        verify(imagePipeline, never()).store(any());
+        verify(eventPublisher, times(1)).publishEvent(EventChange.updated(1));
+    }
+
+    @Test
+    void testPatchRejectsStaleVersion() {
+        Event existing = Event.builder().id(1).name("Techno Night").version(4L).build();
+        when(eventRepository.findById(1)).thenReturn(Optional.of(existing));
+
+        assertThrows(EventVersionMismatchException.class, () -> eventService.patchEvent(firebaseToken, 1, 3L, event -> {
+            event.setName("Changed");
+            return event;
+        }));
+        assertEquals("Techno Night", existing.getName());
+        verify(eventRepository, never()).saveAndFlush(any());
+    }
+}
@@ -0,0 +1,179 @@
+package service;
+
+import eu.partyn.app.exception.SyncNotReadyException;
+import eu.partyn.app.exception.SyncTokenExpiredException;
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChanges;
+import eu.partyn.app.model.EventStatus;
+import eu.partyn.app.model.EventTombstone;
+import eu.partyn.app.model.SyncToken;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.repository.EventTombstoneRepository;
+import eu.partyn.app.service.EventSyncService;
+import eu.partyn.app.service.EventSyncTracker;
+import eu.partyn.app.service.LikeCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EventSyncServiceTest {
+
+    private EventRepository eventRepository;
+
+    private EventTombstoneRepository tombstoneRepository;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private EventSyncTracker syncTracker;
+
+    private EventSyncService syncService;
+
+    private static final long HORIZON = 1000;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        tombstoneRepository = mock(EventTombstoneRepository.class);
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        syncTracker = mock(EventSyncTracker.class);
+        when(syncTracker.isBackfilled()).thenReturn(true);
+        when(jdbcTemplate.queryForList(startsWith("SELECT purged_mod_seq"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(0L));
+        when(jdbcTemplate.queryForObject(startsWith("SELECT nextval"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(HORIZON);
+        syncService = new EventSyncService(eventRepository, tombstoneRepository, mock(LikeCounter.class), syncTracker,
+                jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)), Duration.ofDays(30));
+        syncService.sampleHorizon();
+        syncService.sampleHorizon();
+    }
+
+    @Test
+    void testChangesAndDeletesAreMergedInSyncOrder() {
+        when(eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(10L), eq(HORIZON), any(Limit.class))).thenReturn(List.of(
+                event(1, 11, EventStatus.PUBLISHED),
+                event(2, 13, EventStatus.ENDED),
+                event(3, 14, EventStatus.LIVE)));
+        when(tombstoneRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(10L), eq(HORIZON), any(Limit.class))).thenReturn(List.of(
+                tombstone(7, 12)));
+
+        EventChanges changes = syncService.getChangesSince(SyncToken.encode(10), 50);
+
+        assertEquals(List.of(1, 3), changes.upserts().stream().map(Event::getId).toList());
+        assertEquals(List.of(7, 2), changes.deletes());
+        assertEquals(14, SyncToken.decode(changes.token()));
+        assertFalse(changes.more());
+    }
+
+    @Test
+    void testUnchangedCatalogKeepsTheToken() {
+        when(eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(anyLong(), anyLong(), any(Limit.class))).thenReturn(List.of());
+        when(tombstoneRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(anyLong(), anyLong(), any(Limit.class))).thenReturn(List.of());
+
+        EventChanges changes = syncService.getChangesSince(SyncToken.encode(42), 50);
+
+        assertTrue(changes.upserts().isEmpty());
+        assertTrue(changes.deletes().isEmpty());
+        assertEquals(SyncToken.encode(42), changes.token());
+    }
+
+    @Test
+    void testLimitStopsAtTheLastReturnedChange() {
+        when(eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(0L), eq(HORIZON), any(Limit.class))).thenReturn(List.of(
+                event(1, 1, EventStatus.PUBLISHED),
+                event(2, 3, EventStatus.PUBLISHED)));
+        when(tombstoneRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(0L), eq(HORIZON), any(Limit.class))).thenReturn(List.of(
+                tombstone(9, 2)));
+
+        EventChanges changes = syncService.getChangesSince(SyncToken.encode(0), 2);
+
+        assertEquals(List.of(1), changes.upserts().stream().map(Event::getId).toList());
+        assertEquals(List.of(9), changes.deletes());
+        assertEquals(2, SyncToken.decode(changes.token()));
+        assertTrue(changes.more());
+    }
+
+    @Test
+    void testInitialSyncSkipsDeletes() {
+        when(eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(SyncToken.INITIAL), eq(HORIZON), any(Limit.class))).thenReturn(List.of(
+                event(1, 1, EventStatus.PUBLISHED),
+                event(2, 2, EventStatus.DRAFT)));
+
+        EventChanges changes = syncService.getChangesSince(null, 50);
+
+        assertEquals(List.of(1), changes.upserts().stream().map(Event::getId).toList());
+        assertTrue(changes.deletes().isEmpty());
+        assertEquals(2, SyncToken.decode(changes.token()));
+        verifyNoInteractions(tombstoneRepository);
+    }
+
+    @Test
+    void testTokensBeforePurgedTombstonesExpire() {
+        when(jdbcTemplate.queryForList(startsWith("SELECT purged_mod_seq"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(List.of(100L));
+
+        assertThrows(SyncTokenExpiredException.class, () -> syncService.getChangesSince(SyncToken.encode(99), 50));
+    }
+
+    @Test
+    void testReadsStopAtThePositionSampledAnIntervalAgo() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT nextval"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(1500L);
+        when(eventRepository.findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(anyLong(), anyLong(), any(Limit.class)))
+                .thenReturn(List.of());
+        syncService.sampleHorizon();
+
+        syncService.getChangesSince(SyncToken.encode(10), 50);
+
+        verify(eventRepository).findByModSeqGreaterThanAndModSeqLessThanEqualOrderByModSeq(eq(10L), eq(HORIZON), any(Limit.class));
+    }
+
+    @Test
+    void testChangesAreUnavailableUntilTheBackfillFinishes() {
+        when(syncTracker.isBackfilled()).thenReturn(false);
+
+        assertThrows(SyncNotReadyException.class, () -> syncService.getChangesSince(null, 50));
+    }
+
+    @Test
+    void testChangesAreUnavailableUntilTheHorizonSettles() {
+        EventSyncService fresh = new EventSyncService(eventRepository, tombstoneRepository, mock(LikeCounter.class),
+                syncTracker, jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                Duration.ofDays(30));
+        fresh.sampleHorizon();
+
+        assertThrows(SyncNotReadyException.class, () -> fresh.getChangesSince(null, 50));
+    }
+
+    @Test
+    void testPurgeRecordsTheNewestPurgedPosition() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT MAX"), any(MapSqlParameterSource.class), eq(Long.class)))
+                .thenReturn(57L);
+        when(jdbcTemplate.update(startsWith("DELETE"), any(MapSqlParameterSource.class))).thenReturn(3);
+        when(jdbcTemplate.update(startsWith("UPDATE event_sync_horizon"), any(MapSqlParameterSource.class))).thenReturn(1);
+
+        assertEquals(3, syncService.purge(LocalDateTime.of(2024, 6, 1, 0, 0)));
+
+        verify(jdbcTemplate).update(startsWith("UPDATE event_sync_horizon"),
+                argThat((MapSqlParameterSource params) -> Long.valueOf(57).equals(params.getValue("modSeq"))));
+    }
+
+    private static Event event(int id, long modSeq, EventStatus status) {
+        return Event.builder().id(id).modSeq(modSeq).status(status).build();
+    }
+
+    private static EventTombstone tombstone(int eventId, long modSeq) {
+        return EventTombstone.builder().eventId(eventId).modSeq(modSeq).deletedAt(LocalDateTime.now()).build();
+    }
+}
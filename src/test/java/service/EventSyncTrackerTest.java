@@ -0,0 +1,109 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.service.EventSyncTracker;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Stamps against an in-memory H2 database with the sync tables created.
+ */
+class EventSyncTrackerTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private EventSyncTracker tracker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:sync-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE event (id INT PRIMARY KEY, mod_seq BIGINT DEFAULT 0 NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE event_tombstone (event_id INT PRIMARY KEY, mod_seq BIGINT NOT NULL,
+                deleted_at TIMESTAMP NOT NULL)""");
+        jdbcTemplate.batchUpdate("INSERT INTO event (id) VALUES (?)", List.of(
+                new Object[]{1}, new Object[]{2}, new Object[]{3}));
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        tracker = new EventSyncTracker(jdbcTemplate, transactionTemplate, mock(ObjectProvider.class), 2);
+        tracker.createSequence();
+    }
+
+    @Test
+    void testChangesAreStampedInOrder() {
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.onEventChange(EventChange.updated(2));
+            tracker.onEventChange(EventChange.liked(2));
+            assertEquals(0, modSeq(2));
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.onEventChange(EventChange.created(3));
+            tracker.onEventChange(EventChange.updated(1));
+        });
+
+        assertEquals(1, modSeq(2));
+        assertEquals(2, modSeq(3));
+        assertEquals(3, modSeq(1));
+    }
+
+    @Test
+    void testDeletesLeaveTombstones() {
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.onEventChange(EventChange.updated(1));
+            jdbcTemplate.update("DELETE FROM event WHERE id = 1");
+            tracker.onEventChange(EventChange.deleted(1));
+        });
+
+        assertEquals(List.of(1L), jdbcTemplate.queryForList(
+                "SELECT mod_seq FROM event_tombstone WHERE event_id = 1", Long.class));
+    }
+
+    @Test
+    void testRolledBackChangesTakeNoPosition() {
+        transactionTemplate.executeWithoutResult(status -> {
+            tracker.onEventChange(EventChange.updated(1));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> tracker.onEventChange(EventChange.updated(2)));
+
+        assertEquals(0, modSeq(1));
+        assertTrue(modSeq(2) > 0);
+    }
+
+    @Test
+    void testRemoteChangesAreNotStamped() {
+        tracker.onEventChange(EventChange.remote(EventChange.Type.UPDATED, 1));
+
+        assertEquals(0, modSeq(1));
+    }
+
+    @Test
+    void testBackfillGivesEveryOldEventItsOwnPosition() {
+        assertFalse(tracker.isBackfilled());
+
+        tracker.backfill();
+
+        assertEquals(List.of(1L, 2L, 3L), jdbcTemplate.queryForList("SELECT mod_seq FROM event ORDER BY mod_seq", Long.class));
+        assertTrue(tracker.isBackfilled());
+    }
+
+    private long modSeq(int eventId) {
+        return jdbcTemplate.queryForObject("SELECT mod_seq FROM event WHERE id = ?", Long.class, eventId);
+    }
+}
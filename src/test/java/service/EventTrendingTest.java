@@ -0,0 +1,189 @@
+package service;
+
+import eu.partyn.app.model.Event;
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.EventStatus;
+import eu.partyn.app.repository.EventRepository;
+import eu.partyn.app.service.EventTrending;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class EventTrendingTest {
+
+    private static final Instant NOW = Instant.parse("2024-09-01T20:00:00Z");
+    private static final Duration HALF_LIFE = Duration.ofHours(6);
+
+    private EventRepository eventRepository;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private EventTrending eventTrending;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(EventRepository.class);
+        jdbcTemplate = mock(JdbcTemplate.class);
+        stubRows(IntStream.rangeClosed(1, 5)
+                .mapToObj(id -> new Object[]{id, null, 0, null})
+                .toList());
+        eventTrending = new EventTrending(eventRepository, jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                3, HALF_LIFE, 0.1, Duration.ofMinutes(30), 1000);
+        eventTrending.rebuild();
+    }
+
+    @Test
+    void testRecentActivityOutranksOlderActivity() {
+        likes(1, 10, NOW);
+        likes(2, 5, NOW.plus(HALF_LIFE.multipliedBy(2)));
+        likes(3, 3, NOW.plus(HALF_LIFE.multipliedBy(2)));
+
+        eventTrending.publish();
+
+        // 10 likes two half-lives ago weigh as much as 2.5 likes now
+        assertEquals(List.of(2, 3, 1), eventTrending.trending(10));
+    }
+
+    @Test
+    void testViewsWeighLessThanLikes() {
+        eventTrending.record(1, Math.log(0.1), NOW);
+        eventTrending.record(1, Math.log(0.1), NOW);
+        likes(2, 1, NOW);
+
+        eventTrending.publish();
+
+        assertEquals(List.of(2, 1), eventTrending.trending(10));
+    }
+
+    @Test
+    void testKeepsOnlyTheTopEventsAndPublishesOnDemand() {
+        likes(1, 1, NOW);
+        likes(2, 2, NOW);
+        likes(3, 3, NOW);
+        eventTrending.publish();
+        likes(4, 4, NOW);
+
+        assertEquals(List.of(3, 2, 1), eventTrending.trending(10));
+        eventTrending.publish();
+        assertEquals(List.of(4, 3, 2), eventTrending.trending(10));
+        assertEquals(List.of(4, 3), eventTrending.trending(2));
+    }
+
+    @Test
+    void testUnlistedEventsAreIgnoredAndRemovedEventsAreReplaced() {
+        likes(1, 1, NOW);
+        likes(2, 2, NOW);
+        likes(3, 3, NOW);
+        likes(4, 4, NOW);
+        likes(42, 100, NOW);
+        when(eventRepository.findById(4)).thenReturn(Optional.of(
+                Event.builder().id(4).status(EventStatus.ENDED).build()));
+
+        eventTrending.onEventChange(EventChange.updated(4));
+        eventTrending.publish();
+
+        assertEquals(List.of(3, 2, 1), eventTrending.trending(10));
+    }
+
+    @Test
+    void testRebuildRestoresStoredScores() {
+        stubRows(List.of(
+                new Object[]{1, null, 500, null},
+                new Object[]{2, "PUBLISHED", 1, 1e6},
+                new Object[]{3, null, 0, null},
+                new Object[]{4, "DRAFT", 900, null}));
+
+        eventTrending.rebuild();
+
+        assertEquals(List.of(2, 1), eventTrending.trending(10));
+    }
+
+    @Test
+    void testRepeatedViewsBySameViewerCountOnce() {
+        likes(1, 1, NOW);
+        eventTrending.publish();
+
+        IntStream.range(0, 50).forEach(i -> eventTrending.recordView(2, "10.0.0.1"));
+        eventTrending.publish();
+        assertEquals(List.of(1, 2), eventTrending.trending(10));
+
+        IntStream.range(0, 20).forEach(i -> eventTrending.recordView(2, "10.0.0." + (i + 2)));
+        eventTrending.publish();
+        assertEquals(List.of(2, 1), eventTrending.trending(10));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushWritesChangedScoresOnce() {
+        likes(1, 2, NOW);
+        likes(2, 1, NOW);
+
+        eventTrending.flush();
+        eventTrending.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+    }
+
+    @Test
+    void testFailedFlushIsRetried() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new RuntimeException("db down"))
+                .thenReturn(new int[]{1});
+        likes(1, 1, NOW);
+
+        eventTrending.flush();
+        eventTrending.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+    }
+
+    /**
+     * Feeds the rebuild query rows of {@code id, status, likes, trending_score}.
+     */
+    private void stubRows(List<Object[]> rows) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Object[] row : rows) {
+                handler.processRow(resultSet(row));
+            }
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet resultSet(Object[] row) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getInt("id")).thenReturn((Integer) row[0]);
+        when(rs.getString("status")).thenReturn((String) row[1]);
+        when(rs.getInt("likes")).thenReturn((Integer) row[2]);
+        when(rs.getObject("trending_score")).thenReturn(row[3]);
+        return rs;
+    }
+
+    private void likes(int eventId, int count, Instant at) {
+        for (int i = 0; i < count; i++) {
+            eventTrending.record(eventId, 0, at);
+        }
+    }
+}
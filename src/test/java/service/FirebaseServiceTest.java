@@ -0,0 +1,80 @@
+package service;
+
+import com.google.firebase.FirebaseApp;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseToken;
+import eu.partyn.app.service.FirebaseService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FirebaseServiceTest {
+
+    private FirebaseService firebaseService;
+
+    private FirebaseAuth firebaseAuth;
+
+    private ObjectProvider<FirebaseApp> firebaseApp;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        firebaseApp = mock(ObjectProvider.class);
+        firebaseService = new FirebaseService(new SimpleMeterRegistry(), 100, firebaseApp);
+        firebaseAuth = mock(FirebaseAuth.class);
+    }
+
+    @Test
+    void testRepeatedTokenIsVerifiedOnce() throws Exception {
+        FirebaseToken token = tokenExpiringAt(Instant.now().plusSeconds(3600));
+        when(firebaseAuth.verifyIdToken("id-token")).thenReturn(token);
+
+        try (MockedStatic<FirebaseAuth> auth = mockStatic(FirebaseAuth.class)) {
+            auth.when(FirebaseAuth::getInstance).thenReturn(firebaseAuth);
+
+            assertSame(token, firebaseService.authenticate("id-token"));
+            assertSame(token, firebaseService.authenticate("id-token"));
+        }
+
+        verify(firebaseAuth, times(1)).verifyIdToken("id-token");
+        verify(firebaseApp, times(1)).getObject();
+        assertEquals(1, firebaseService.tokenCacheStats().hitCount());
+        assertEquals(1, firebaseService.tokenCacheStats().missCount());
+    }
+
+    @Test
+    void testFirebaseIsNotInitializedBeforeFirstVerification() {
+        firebaseService.callerKey("id-token");
+
+        verifyNoInteractions(firebaseApp);
+    }
+
+    @Test
+    void testExpiredTokenIsNotCached() throws Exception {
+        FirebaseToken token = tokenExpiringAt(Instant.now().minusSeconds(1));
+        when(firebaseAuth.verifyIdToken("stale-token")).thenReturn(token);
+
+        try (MockedStatic<FirebaseAuth> auth = mockStatic(FirebaseAuth.class)) {
+            auth.when(FirebaseAuth::getInstance).thenReturn(firebaseAuth);
+
+            firebaseService.authenticate("stale-token");
+            firebaseService.authenticate("stale-token");
+        }
+
+        verify(firebaseAuth, times(2)).verifyIdToken("stale-token");
+    }
+
+    private static FirebaseToken tokenExpiringAt(Instant expiresAt) {
+        FirebaseToken token = mock(FirebaseToken.class);
+        when(token.getClaims()).thenReturn(Map.of("exp", expiresAt.getEpochSecond()));
+        return token;
+    }
+}
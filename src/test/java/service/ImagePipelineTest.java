@@ -0,0 +1,88 @@
+package service;
+
+import eu.partyn.app.model.ImageVariants;
+import eu.partyn.app.service.ImagePipeline;
+import eu.partyn.app.storage.FileSystemBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImagePipelineTest {
+
+    @TempDir
+    Path blobRoot;
+
+    private FileSystemBlobStore blobStore;
+
+    private ImagePipeline imagePipeline;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = spy(new FileSystemBlobStore(blobRoot, "http://localhost/blobs"));
+        imagePipeline = new ImagePipeline(blobStore, 4_000_000);
+    }
+
+    @Test
+    void testVariantsAreResizedAndStored() throws Exception {
+        ImageVariants variants = imagePipeline.store(png(2400, 1200));
+
+        assertTrue(variants.thumbnailUrl().startsWith("http://localhost/blobs/events/"));
+        assertEquals(320, widthOf(variants.thumbnailUrl()));
+        assertEquals(800, widthOf(variants.cardUrl()));
+        assertEquals(1600, widthOf(variants.fullUrl()));
+    }
+
+    @Test
+    void testSmallImagesAreNotUpscaled() throws Exception {
+        ImageVariants variants = imagePipeline.store(png(200, 100));
+
+        assertEquals(200, widthOf(variants.fullUrl()));
+    }
+
+    @Test
+    void testIdenticalUploadIsStoredOnce() throws Exception {
+        byte[] image = png(1000, 500);
+
+        ImageVariants first = imagePipeline.store(image);
+        ImageVariants second = imagePipeline.store(image);
+
+        assertEquals(first, second);
+        verify(blobStore, times(ImagePipeline.Variant.values().length)).put(anyString(), any(), anyString());
+    }
+
+    @Test
+    void testNonImageUploadIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> imagePipeline.store("not an image".getBytes()));
+    }
+
+    @Test
+    void testOversizedImageIsRejectedBeforeDecoding() throws Exception {
+        byte[] image = png(4000, 1001);
+
+        assertThrows(IllegalArgumentException.class, () -> imagePipeline.store(image));
+        verify(blobStore, never()).put(anyString(), any(), anyString());
+    }
+
+    private int widthOf(String url) throws Exception {
+        Path file = blobRoot.resolve(url.substring("http://localhost/blobs/".length()));
+        return ImageIO.read(Files.newInputStream(file)).getWidth();
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, 0xFFFF0000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
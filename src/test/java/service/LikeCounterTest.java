@@ -0,0 +1,133 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.service.LikeCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class LikeCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @InjectMocks
+    private LikeCounter likeCounter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFlushCoalescesLikesIntoOneBatch() {
+        IntStream.range(0, 1000).parallel().forEach(i -> likeCounter.increment(i % 2 == 0 ? 1 : 2));
+        assertEquals(500, likeCounter.pending(1));
+
+        likeCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().size());
+        batch.getValue().forEach(row -> assertEquals(500L, row[0]));
+        assertEquals(0, likeCounter.pending(1));
+        verify(eventPublisher, times(1)).publishEvent(EventChange.liked(1));
+        verify(eventPublisher, times(1)).publishEvent(EventChange.liked(2));
+    }
+
+    @Test
+    void testFlushedChangesCarryStoredTotals() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getInt("id")).thenReturn(7);
+        when(row.getInt("likes")).thenReturn(42);
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(2).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(PreparedStatementSetter.class), any(RowCallbackHandler.class));
+        likeCounter.increment(7);
+
+        likeCounter.flush();
+
+        verify(eventPublisher).publishEvent(EventChange.liked(7, 42));
+    }
+
+    @Test
+    void testIdleAddersAreRemoved() {
+        likeCounter.increment(7);
+        likeCounter.flush();
+        likeCounter.flush();
+        likeCounter.increment(7);
+        likeCounter.flush();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), anyList());
+        assertEquals(0, likeCounter.pending(7));
+        assertEquals(1, ((Map<?, ?>) ReflectionTestUtils.getField(likeCounter, "pending")).size());
+
+        likeCounter.flush();
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(likeCounter, "pending")).isEmpty());
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(likeCounter, "inFlight")).isEmpty());
+    }
+
+    @Test
+    void testFlushWithoutLikesSkipsDatabase() {
+        likeCounter.flush();
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailedFlushKeepsLikesPending() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenThrow(new RuntimeException("db down"));
+        likeCounter.increment(7);
+
+        likeCounter.flush();
+
+        assertEquals(1, likeCounter.pending(7));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUnlikesCancelOutLikes() {
+        likeCounter.increment(7);
+        likeCounter.increment(7);
+        likeCounter.decrement(7);
+        likeCounter.increment(8);
+        likeCounter.decrement(8);
+
+        likeCounter.flush();
+
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertArrayEquals(new Object[]{1L, 7}, batch.getValue().get(0));
+    }
+}
@@ -0,0 +1,202 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.service.LikeRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Two registries, standing for two instances, on one in-memory H2 database with the like tables
+ * created.
+ */
+class LikeRegistryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private LikeRegistry likeRegistry;
+
+    private LikeRegistry otherInstance;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:likes-" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE SEQUENCE user_index_seq");
+        jdbcTemplate.execute("CREATE TABLE user_index (idx INTEGER PRIMARY KEY, uid VARCHAR(128) NOT NULL UNIQUE)");
+        jdbcTemplate.execute("CREATE TABLE event_like (event_id INTEGER PRIMARY KEY, members VARBINARY(16777216) NOT NULL)");
+        likeRegistry = registry(64 * 1024 * 1024);
+        otherInstance = registry(64 * 1024 * 1024);
+    }
+
+    @Test
+    void testLikeIsRecordedOncePerUser() {
+        assertTrue(likeRegistry.like(1, "alice"));
+        assertFalse(likeRegistry.like(1, "alice"));
+        assertTrue(likeRegistry.hasLiked(1, "alice"));
+        assertFalse(likeRegistry.hasLiked(2, "alice"));
+
+        assertTrue(likeRegistry.unlike(1, "alice"));
+        assertFalse(likeRegistry.unlike(1, "alice"));
+        assertFalse(likeRegistry.hasLiked(1, "alice"));
+    }
+
+    @Test
+    void testLikeIsRecordedOnceAcrossInstances() {
+        assertTrue(likeRegistry.like(1, "alice"));
+        assertFalse(otherInstance.like(1, "alice"));
+        assertTrue(otherInstance.like(1, "bob"));
+
+        assertTrue(likeRegistry.hasLiked(1, "bob"));
+        assertTrue(otherInstance.unlike(1, "alice"));
+        assertFalse(likeRegistry.unlike(1, "alice"));
+    }
+
+    @Test
+    void testRolledBackLikeLeavesTheCacheAlone() {
+        assertFalse(likeRegistry.hasLiked(1, "alice"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            assertTrue(likeRegistry.like(1, "alice"));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(likeRegistry.hasLiked(1, "alice"));
+        assertTrue(likeRegistry.like(1, "alice"));
+    }
+
+    @Test
+    void testBitmapLoadedBeforeTheLikeCommitsIsDropped() {
+        transactionTemplate.executeWithoutResult(status -> {
+            likeRegistry.like(1, "alice");
+            // another request caches the committed state while the like is in flight
+            assertFalse(CompletableFuture.supplyAsync(() -> likeRegistry.hasLiked(1, "alice")).join());
+        });
+
+        assertTrue(likeRegistry.hasLiked(1, "alice"));
+    }
+
+    @Test
+    void testCachedBitmapIsDroppedWhenAnotherInstanceLikes() {
+        likeRegistry.like(2, "alice");
+        assertFalse(likeRegistry.hasLiked(1, "alice"));
+        otherInstance.like(1, "alice");
+
+        likeRegistry.onEventChange(EventChange.remote(EventChange.Type.LIKED, 1));
+
+        assertTrue(likeRegistry.hasLiked(1, "alice"));
+    }
+
+    @Test
+    void testUnknownUserIsNotIndexedOnReads() {
+        assertFalse(likeRegistry.hasLiked(1, "stranger"));
+        assertFalse(likeRegistry.unlike(1, "stranger"));
+        assertEquals(List.of(), likeRegistry.likedAmong("stranger", List.of(1, 2)));
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_index", Integer.class));
+    }
+
+    @Test
+    void testLikedAmongKeepsRequestOrder() {
+        likeRegistry.like(3, "alice");
+        likeRegistry.like(1, "alice");
+        otherInstance.like(2, "bob");
+
+        assertEquals(List.of(3, 1), likeRegistry.likedAmong("alice", List.of(3, 2, 1, 4)));
+    }
+
+    @Test
+    void testDeletedEventDropsItsLikes() {
+        likeRegistry.like(1, "alice");
+        otherInstance.hasLiked(1, "alice");
+
+        likeRegistry.onEventChange(EventChange.deleted(1));
+        otherInstance.onEventChange(EventChange.remote(EventChange.Type.DELETED, 1));
+
+        assertFalse(otherInstance.hasLiked(1, "alice"));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_like", Integer.class));
+    }
+
+    @Test
+    void testLikesOfEventDeletedInARolledBackTransactionStay() {
+        likeRegistry.like(1, "alice");
+
+        transactionTemplate.executeWithoutResult(status -> {
+            likeRegistry.onEventChange(EventChange.deleted(1));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(likeRegistry.hasLiked(1, "alice"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_like", Integer.class));
+    }
+
+    @Test
+    void testBitmapCacheStaysWithinItsBound() throws InterruptedException {
+        likers(20, 500);
+        LikeRegistry bounded = registry(16 * 1024);
+
+        bounded.likedAmong("user-0", IntStream.rangeClosed(1, 20).boxed().toList());
+
+        // eviction runs asynchronously after the writes
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (bounded.memoryBytes() > 16 * 1024 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(bounded.memoryBytes() <= 16 * 1024, "cached bytes: " + bounded.memoryBytes());
+    }
+
+    @Test
+    void testPopularEventsCostAboutTwoBytesPerLike() {
+        int events = 10;
+        int likesPerEvent = 1000;
+        likers(events, likesPerEvent);
+
+        long stored = jdbcTemplate.queryForObject("SELECT SUM(OCTET_LENGTH(members)) FROM event_like", Long.class);
+        double storedPerLike = (double) stored / (events * likesPerEvent);
+        assertTrue(storedPerLike < 2.1, "stored bytes per like: " + storedPerLike);
+
+        likeRegistry.likedAmong("user-0", IntStream.rangeClosed(1, events).boxed().toList());
+
+        double cachedPerLike = (double) likeRegistry.memoryBytes() / (events * likesPerEvent);
+        assertTrue(cachedPerLike < 2.1, "cached bytes per like: " + cachedPerLike);
+    }
+
+    private LikeRegistry registry(long maxBitmapBytes) {
+        return new LikeRegistry(jdbcTemplate, transactionTemplate, new SimpleMeterRegistry(), 100_000,
+                maxBitmapBytes, Duration.ofMinutes(10));
+    }
+
+    /**
+     * {@code likesPerEvent} distinct likers out of 100,000 users, {@code user-0} to {@code user-99999}
+     * at the matching positions, liking each of events 1 to {@code events} through the registry.
+     */
+    private void likers(int events, int likesPerEvent) {
+        jdbcTemplate.batchUpdate("INSERT INTO user_index (idx, uid) VALUES (?, ?)", IntStream.range(0, 100_000)
+                .mapToObj(user -> new Object[]{user, "user-" + user})
+                .toList());
+        LikeRegistry writer = registry(64 * 1024 * 1024);
+        Random random = new Random(42);
+        for (int event = 1; event <= events; event++) {
+            int eventId = event;
+            random.ints(0, 100_000).distinct().limit(likesPerEvent)
+                    .forEach(user -> writer.like(eventId, "user-" + user));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package service;
+
+import eu.partyn.app.model.EventChange;
+import eu.partyn.app.model.OutboxRecord;
+import eu.partyn.app.service.EventChangeConsumer;
+import eu.partyn.app.service.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private EventChangeConsumer first;
+
+    private EventChangeConsumer second;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+        first = mock(EventChangeConsumer.class);
+        second = mock(EventChangeConsumer.class);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                List.of(first, second), meterRegistry, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatchesAreDeliveredToEveryConsumerAndDeleted() {
+        when(jdbcTemplate.query(contains("SKIP LOCKED"), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(records(1, 2), records(3), List.of());
+
+        assertEquals(3, outboxRelay.relay());
+
+        verify(first).accept(records(1, 2));
+        verify(first).accept(records(3));
+        verify(second).accept(records(1, 2));
+        verify(second).accept(records(3));
+        verify(jdbcTemplate).update(startsWith("DELETE"),
+                argThat((MapSqlParameterSource params) -> List.of(1L, 2L).equals(params.getValue("ids"))));
+        verify(jdbcTemplate).update(startsWith("DELETE"),
+                argThat((MapSqlParameterSource params) -> List.of(3L).equals(params.getValue("ids"))));
+        assertEquals(3, meterRegistry.counter("partyn.outbox.relay.delivered").count());
+        assertEquals(3, meterRegistry.timer("partyn.outbox.relay.lag").count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testFailingConsumerKeepsTheBatch() {
+        when(jdbcTemplate.query(contains("SKIP LOCKED"), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(records(1));
+        doThrow(new RuntimeException("index down")).when(second).accept(anyList());
+
+        assertEquals(0, outboxRelay.relay());
+
+        verify(jdbcTemplate, never()).update(startsWith("DELETE"), any(MapSqlParameterSource.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEmptyOutboxDeliversNothing() {
+        when(jdbcTemplate.query(contains("SKIP LOCKED"), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        assertEquals(0, outboxRelay.relay());
+
+        verifyNoInteractions(first, second);
+    }
+
+    private static List<OutboxRecord> records(long... ids) {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 6, 1, 20, 0);
+        return LongStream.of(ids)
+                .mapToObj(id -> new OutboxRecord(id, (int) id, EventChange.Type.UPDATED, createdAt, "node-a"))
+                .toList();
+    }
+}
@@ -0,0 +1,83 @@
+package service;
+
+import eu.partyn.app.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private AtomicLong nanos;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private TokenBucketLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        nanos = new AtomicLong(1_000_000_000L);
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new TokenBucketLimiter("test", 2, 3, Duration.ofMinutes(10), 100, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void testAdmitsBurstThenRejects() {
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertEquals(0, limiter.tryAcquire("a"));
+
+        long wait = limiter.tryAcquire("a");
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+    }
+
+    @Test
+    void testRefillsAtRate() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testRefundReturnsToken() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        limiter.refund("a");
+
+        assertEquals(0, limiter.tryAcquire("a"));
+        assertTrue(limiter.tryAcquire("a") > 0);
+    }
+
+    @Test
+    void testKeysAreIndependent() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertTrue(limiter.tryAcquire("a") > 0);
+        assertEquals(0, limiter.tryAcquire("b"));
+    }
+
+    @Test
+    void testCountsOutcomes() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("a");
+        }
+
+        assertEquals(3, meterRegistry.counter("partyn.ratelimit.requests", "limiter", "test", "outcome", "admitted").count());
+        assertEquals(2, meterRegistry.counter("partyn.ratelimit.requests", "limiter", "test", "outcome", "rejected").count());
+    }
+}